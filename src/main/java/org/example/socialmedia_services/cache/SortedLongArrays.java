@@ -0,0 +1,51 @@
+package org.example.socialmedia_services.cache;
+
+import java.util.Arrays;
+
+/**
+ * Copy-on-write helpers for sorted, duplicate-free long[] ID sets, as kept by the in-memory caches.
+ * Arrays passed in are never modified; an unchanged set is returned as the same array.
+ */
+public final class SortedLongArrays {
+
+    private SortedLongArrays() {
+    }
+
+    /**
+     * Sort the first count IDs and drop duplicates, reusing the array when nothing was dropped
+     */
+    public static long[] sortedUnique(long[] ids, int count) {
+        Arrays.sort(ids, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || ids[unique - 1] != ids[i]) {
+                ids[unique++] = ids[i];
+            }
+        }
+        return unique == ids.length ? ids : Arrays.copyOf(ids, unique);
+    }
+
+    public static long[] insert(long[] ids, long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return ids;
+        }
+        int insertAt = -index - 1;
+        long[] updated = new long[ids.length + 1];
+        System.arraycopy(ids, 0, updated, 0, insertAt);
+        updated[insertAt] = id;
+        System.arraycopy(ids, insertAt, updated, insertAt + 1, ids.length - insertAt);
+        return updated;
+    }
+
+    public static long[] remove(long[] ids, long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return ids;
+        }
+        long[] updated = new long[ids.length - 1];
+        System.arraycopy(ids, 0, updated, 0, index);
+        System.arraycopy(ids, index + 1, updated, index, ids.length - index - 1);
+        return updated;
+    }
+}
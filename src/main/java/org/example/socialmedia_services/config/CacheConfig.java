@@ -0,0 +1,16 @@
+package org.example.socialmedia_services.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables Spring's cache abstraction.
+ * Caches are Caffeine-backed and declared in application.properties (spring.cache.*) with recordStats,
+ * so actuator publishes cache.gets (hit/miss), cache.puts and cache.evictions per cache.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String RANKED_FEED_CACHE = "rankedFeed";
+}
@@ -3,9 +3,15 @@ package org.example.socialmedia_services.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.socialmedia_services.dto.feed.FeedResponse;
+import org.example.socialmedia_services.services.feed.FeedMode;
+import org.example.socialmedia_services.services.feed.FeedPage;
 import org.example.socialmedia_services.services.feed.FeedService;
+import org.example.socialmedia_services.services.feed.FeedStreamWriter;
+import org.example.socialmedia_services.services.feed.FeedView;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -17,16 +23,23 @@ import java.util.Map;
 public class FeedController {
 
     private final FeedService feedService;
+    private final FeedStreamWriter feedStreamWriter;
+
     @GetMapping
     public ResponseEntity<?> getPersonalizedFeed(
             @RequestParam String userId,
             @RequestParam(required = false, defaultValue = "0") Integer page,
-            @RequestParam(required = false, defaultValue = "20") Integer size) {
+            @RequestParam(required = false, defaultValue = "20") Integer size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "full") String view,
+            @RequestParam(required = false, defaultValue = "ranked") String mode) {
 
         try {
-            log.info("Fetching personalized feed for user: {}, page: {}, size: {}", userId, page, size);
+            log.info("Fetching personalized feed for user: {}, page: {}, size: {}, view: {}, mode: {}",
+                    userId, page, size, view, mode);
 
-            FeedResponse feedResponse = feedService.getPersonalizedFeed(userId, page, size);
+            FeedResponse feedResponse = feedService.getPersonalizedFeed(userId, page, size, cursor,
+                    FeedView.from(view), FeedMode.from(mode));
 
             Map<String, Object> responseData = new HashMap<>();
             responseData.put("success", true);
@@ -43,4 +56,68 @@ public class FeedController {
             return ResponseEntity.badRequest().body(errorResponse);
         }
     }
+
+    /**
+     * Posts with the most likes and comments in the trending window, served from memory
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<?> getTrendingFeed(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false, defaultValue = "20") Integer limit,
+            @RequestParam(required = false, defaultValue = "full") String view) {
+
+        try {
+            log.info("Fetching trending feed for user: {}, limit: {}, view: {}", userId, limit, view);
+
+            FeedResponse feedResponse = feedService.getTrendingFeed(userId, limit, FeedView.from(view));
+
+            Map<String, Object> responseData = new HashMap<>();
+            responseData.put("success", true);
+            responseData.put("message", "Trending feed retrieved successfully");
+            responseData.put("data", feedResponse);
+
+            return ResponseEntity.ok(responseData);
+
+        } catch (Exception e) {
+            log.error("Error fetching trending feed: {}", e.getMessage(), e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Failed to fetch trending feed: " + e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    /**
+     * Same feed as GET /feed, streamed: posts are hydrated and written in small chunks
+     * instead of building the whole response in memory first
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<?> streamPersonalizedFeed(
+            @RequestParam String userId,
+            @RequestParam(required = false, defaultValue = "0") Integer page,
+            @RequestParam(required = false, defaultValue = "20") Integer size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "full") String view,
+            @RequestParam(required = false, defaultValue = "ranked") String mode) {
+
+        try {
+            log.info("Streaming personalized feed for user: {}, page: {}, size: {}, view: {}, mode: {}",
+                    userId, page, size, view, mode);
+
+            FeedView feedView = FeedView.from(view);
+            FeedPage feedPage = feedService.planFeedPage(userId, page, size, cursor, FeedMode.from(mode));
+            StreamingResponseBody body = out -> feedStreamWriter.write(feedPage, userId, feedView, out);
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body);
+
+        } catch (Exception e) {
+            log.error("Error streaming personalized feed: {}", e.getMessage(), e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Failed to fetch personalized feed: " + e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
 }
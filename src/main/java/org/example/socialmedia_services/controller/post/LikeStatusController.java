@@ -0,0 +1,45 @@
+package org.example.socialmedia_services.controller.post;
+
+import jakarta.validation.Valid;
+import org.example.socialmedia_services.dto.post.LikeStatusBatchRequest;
+import org.example.socialmedia_services.entity.UserPrincipal;
+import org.example.socialmedia_services.services.post.LikeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/posts/likes")
+@Validated
+public class LikeStatusController {
+
+    @Autowired
+    private LikeService likeService;
+
+    /**
+     * Like state of many posts for the current user in one call, for list screens
+     * (feed, profile, bucket list) that would otherwise call /posts/{postId}/likes/status per card
+     */
+    @PostMapping("/status:batch")
+    public ResponseEntity<?> getLikeStatuses(@Valid @RequestBody LikeStatusBatchRequest request) {
+
+        // Get current authenticated user
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        Long userId = userPrincipal.getUser().getUserId();
+
+        Map<Long, Boolean> liked = likeService.getLikeStatuses(request.getPostIds(), userId);
+
+        Map<String, Object> responseData = new HashMap<>();
+        responseData.put("success", true);
+        responseData.put("liked", liked);
+
+        return ResponseEntity.ok(responseData);
+    }
+}
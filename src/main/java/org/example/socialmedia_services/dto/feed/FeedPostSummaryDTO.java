@@ -0,0 +1,33 @@
+package org.example.socialmedia_services.dto.feed;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Feed card for list views (view=summary). Full content is loaded via GET /posts/{postId}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedPostSummaryDTO {
+    private Long postId;
+    private Long createdById;
+    private String creatorName;
+    private String creatorProfileUrl;
+    private LocalDateTime createdAt;
+    private Integer likesCount;
+    private Integer commentsCount;
+    private Boolean isLikedByUser;
+
+    private String journeyTitle;
+    private Integer numberOfDays;
+    private String coverImageUrl;
+
+    // Feed ranking metadata (optional, for debugging)
+    private Double rankScore;
+}
@@ -12,10 +12,16 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class FeedResponse {
-    private List<FeedPostDTO> posts;
+    // FeedPostDTO for the full view, FeedPostSummaryDTO for view=summary
+    private List<?> posts;
     private Integer currentPage;
     private Integer pageSize;
+    // Not counted in mode=following (null) - the feed is paged by cursor only
     private Integer totalPosts;
     private Integer totalPages;
     private Boolean hasMore;
+    // Opaque continuation token for the next page; null when there are no more posts
+    private String nextCursor;
+    // Ranking model (A/B arm) that ordered this feed
+    private String rankingModel;
 }
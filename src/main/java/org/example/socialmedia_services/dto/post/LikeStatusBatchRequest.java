@@ -0,0 +1,25 @@
+package org.example.socialmedia_services.dto.post;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class LikeStatusBatchRequest {
+
+    @NotEmpty(message = "Post IDs are required")
+    @Size(max = 500, message = "At most 500 post IDs can be checked at once")
+    private List<Long> postIds;
+
+    // Default constructor
+    public LikeStatusBatchRequest() {}
+
+    // Constructor with parameter
+    public LikeStatusBatchRequest(List<Long> postIds) {
+        this.postIds = postIds;
+    }
+}
@@ -18,7 +18,8 @@ public class UserPrincipal implements UserDetails {
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         // Convert user role to Spring Security authority format
-        return Collections.singleton(new SimpleGrantedAuthority("USER"));
+        String role = user.getRole() != null ? user.getRole() : "USER";
+        return Collections.singleton(new SimpleGrantedAuthority(role));
     }
 
     @Override
@@ -0,0 +1,63 @@
+package org.example.socialmedia_services.entity.feed;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "feed_timeline",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_timeline_user_post", columnNames = {"user_id", "post_id"})
+        },
+        indexes = {
+                @Index(name = "idx_timeline_user_created_at", columnList = "user_id, created_at"),
+                @Index(name = "idx_timeline_post_id", columnList = "post_id"),
+                @Index(name = "idx_timeline_created_at", columnList = "created_at")
+        })
+public class FeedTimelineEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "timeline_id")
+    private Long timelineId;
+
+    // Owner of the timeline (matches follows.following_id - the user who follows)
+    @Column(name = "user_id", nullable = false, length = 255)
+    private String userId;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(name = "creator_id", nullable = false)
+    private Long creatorId;
+
+    // Copied from posts.created_at so the timeline can be read newest-first without a join
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Default constructor
+    public FeedTimelineEntry() {}
+
+    // Constructor with parameters
+    public FeedTimelineEntry(String userId, Long postId, Long creatorId, LocalDateTime createdAt) {
+        this.userId = userId;
+        this.postId = postId;
+        this.creatorId = creatorId;
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "FeedTimelineEntry{" +
+                "timelineId=" + timelineId +
+                ", userId='" + userId + '\'' +
+                ", postId=" + postId +
+                ", creatorId=" + creatorId +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
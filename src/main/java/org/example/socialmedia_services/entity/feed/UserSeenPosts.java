@@ -0,0 +1,41 @@
+package org.example.socialmedia_services.entity.feed;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "user_seen_posts",
+        indexes = {
+                @Index(name = "idx_seen_posts_updated_at", columnList = "updated_at")
+        })
+public class UserSeenPosts {
+
+    // Viewer the filter belongs to (same ID format as feed_timeline.user_id)
+    @Id
+    @Column(name = "user_id", nullable = false, length = 255)
+    private String userId;
+
+    // Serialized SeenPostFilter - a few KB regardless of how many posts the user has scrolled past
+    @Column(name = "seen_filter", nullable = false, columnDefinition = "bytea")
+    private byte[] seenFilter;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Default constructor
+    public UserSeenPosts() {}
+
+    @Override
+    public String toString() {
+        return "UserSeenPosts{" +
+                "userId='" + userId + '\'' +
+                ", seenFilterBytes=" + (seenFilter != null ? seenFilter.length : 0) +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.socialmedia_services.entity.outbox;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A Kafka message written in the same transaction as the change it describes.
+ * OutboxRelay publishes it after commit and deletes the row once the broker has acknowledged it.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    // Also the publish order
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "topic", nullable = false, length = 100)
+    private String topic;
+
+    // JSON message body, sent as-is
+    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    private String payload;
+
+    // Failed publish attempts; rows at app.outbox.relay.max-attempts are left for inspection
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // Set while a relay is publishing the event; once it passes, another relay may claim the event again
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "created_at")
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    // Default constructor
+    public OutboxEvent() {}
+
+    public OutboxEvent(String topic, String payload) {
+        this.topic = topic;
+        this.payload = payload;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxEvent{" +
+                "eventId=" + eventId +
+                ", topic='" + topic + '\'' +
+                ", attempts=" + attempts +
+                ", lockedUntil=" + lockedUntil +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -10,11 +10,13 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @Setter
+// The uk_like_post_user unique constraint (one like per user and post, used by LikeRepository.toggle)
+// is created by db/migration/ADD_UNIQUE_POST_LIKES.sql without blocking writes. It is deliberately not
+// declared here: ddl-auto=update would add it with a blocking ALTER TABLE and recreate it on every startup
 @Table(name = "post_likes",
         indexes = {
                 @Index(name = "idx_like_post_id", columnList = "post_id"),
                 @Index(name = "idx_like_user_id", columnList = "user_id"),
-                @Index(name = "idx_like_post_user", columnList = "post_id, user_id"),
                 @Index(name = "idx_like_liked_at", columnList = "liked_at")
         })
 public class Likes {
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
@@ -17,6 +18,8 @@ import java.time.LocalDateTime;
                 @Index(name = "idx_comments_count", columnList = "comments_count")
         })
 @Getter @Setter
+// Update only changed columns: the counters are maintained by in-place UPDATEs, not by saving the entity
+@DynamicUpdate
 public class Post {
 
     @Id
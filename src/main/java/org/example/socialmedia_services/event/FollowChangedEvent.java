@@ -0,0 +1,24 @@
+package org.example.socialmedia_services.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by FollowService when an accepted follow relationship starts or ends.
+ * userId is the user who follows, followedUserId the user being followed.
+ */
+@Getter
+@AllArgsConstructor
+public class FollowChangedEvent {
+    private final String userId;
+    private final String followedUserId;
+    private final boolean following;
+
+    public static FollowChangedEvent followed(String userId, String followedUserId) {
+        return new FollowChangedEvent(userId, followedUserId, true);
+    }
+
+    public static FollowChangedEvent unfollowed(String userId, String followedUserId) {
+        return new FollowChangedEvent(userId, followedUserId, false);
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.socialmedia_services.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.socialmedia_services.entity.post.PlaceWiseContent;
+import org.example.socialmedia_services.entity.post.Post;
+
+import java.util.List;
+
+/**
+ * Published by PostService once a post and its content have been saved.
+ * Listeners run after the surrounding transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class PostCreatedEvent {
+    private final Post post;
+    private final List<PlaceWiseContent> placeWiseContent;
+}
@@ -0,0 +1,14 @@
+package org.example.socialmedia_services.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by PostService when a post and its related data have been deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class PostDeletedEvent {
+    private final Long postId;
+    private final Long creatorId;
+}
@@ -0,0 +1,25 @@
+package org.example.socialmedia_services.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a post's like or comment count changes.
+ * Deltas are signed: +1 for a like, -1 for an unlike, -n when n comments are deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class PostEngagementEvent {
+    private final Long postId;
+    private final Long userId;
+    private final int likesDelta;
+    private final int commentsDelta;
+
+    public static PostEngagementEvent likes(Long postId, Long userId, int delta) {
+        return new PostEngagementEvent(postId, userId, delta, 0);
+    }
+
+    public static PostEngagementEvent comments(Long postId, Long userId, int delta) {
+        return new PostEngagementEvent(postId, userId, 0, delta);
+    }
+}
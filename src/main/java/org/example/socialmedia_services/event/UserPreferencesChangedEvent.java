@@ -0,0 +1,13 @@
+package org.example.socialmedia_services.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by ProfileService when a user's profile, including activities and trip moods, is saved.
+ */
+@Getter
+@AllArgsConstructor
+public class UserPreferencesChangedEvent {
+    private final String userId;
+}
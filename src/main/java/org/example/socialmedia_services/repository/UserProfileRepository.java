@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +21,12 @@ public interface UserProfileRepository extends JpaRepository<UserProfile, String
     @Query("SELECT up FROM UserProfile up WHERE up.userId = :userId AND up.isActive = true")
     Optional<UserProfile> findActiveByUserId(@Param("userId") String userId);
 
+    // Display name and image of active users, one row per user: [userId, displayName, profileImageUrl]
+    // Scalar projection so the eager activity/mood collections are not loaded per profile
+    @Query("SELECT up.userId, up.displayName, up.profileImageUrl FROM UserProfile up " +
+            "WHERE up.userId IN :userIds AND up.isActive = true")
+    List<Object[]> findActiveDisplayInfoByUserIds(@Param("userIds") Collection<String> userIds);
+
     @Query("SELECT up FROM UserProfile up WHERE up.isActive = :isActive")
     Page<UserProfile> findAllByIsActive(@Param("isActive") Boolean isActive, Pageable pageable);
 
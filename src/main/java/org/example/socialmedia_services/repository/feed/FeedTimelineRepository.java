@@ -0,0 +1,48 @@
+package org.example.socialmedia_services.repository.feed;
+
+import org.example.socialmedia_services.entity.feed.FeedTimelineEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FeedTimelineRepository extends JpaRepository<FeedTimelineEntry, Long> {
+
+    // Push a post into the timeline of every accepted follower of its creator in a single statement
+    // follows.follower_id is the user being followed, follows.following_id is the user who follows
+    // Runs in its own transaction because it is called after the post's transaction has committed
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = "INSERT INTO feed_timeline (user_id, post_id, creator_id, created_at) " +
+            "SELECT f.following_id, :postId, :creatorId, :createdAt FROM follows f " +
+            "WHERE f.follower_id = :creatorUserId AND f.status = 'accepted' " +
+            "ON CONFLICT (user_id, post_id) DO NOTHING",
+            nativeQuery = true)
+    int fanOutToFollowers(@Param("postId") Long postId,
+                          @Param("creatorId") Long creatorId,
+                          @Param("creatorUserId") String creatorUserId,
+                          @Param("createdAt") LocalDateTime createdAt);
+
+    // Newest post IDs in a user's timeline, bounded by the pageable
+    @Query("SELECT t.postId FROM FeedTimelineEntry t WHERE t.userId = :userId ORDER BY t.createdAt DESC")
+    List<Long> findRecentPostIds(@Param("userId") String userId, Pageable pageable);
+
+    // Delete all timeline entries for a post
+    @Modifying
+    @Transactional
+    void deleteByPostId(Long postId);
+
+    // Delete timeline entries older than the retention cutoff
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM FeedTimelineEntry t WHERE t.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
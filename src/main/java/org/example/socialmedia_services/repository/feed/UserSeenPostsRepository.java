@@ -0,0 +1,32 @@
+package org.example.socialmedia_services.repository.feed;
+
+import org.example.socialmedia_services.entity.feed.UserSeenPosts;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserSeenPostsRepository extends JpaRepository<UserSeenPosts, String> {
+
+    // Insert or replace a user's seen-post filter in a single statement
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO user_seen_posts (user_id, seen_filter, updated_at) " +
+            "VALUES (:userId, :seenFilter, :updatedAt) " +
+            "ON CONFLICT (user_id) DO UPDATE SET seen_filter = EXCLUDED.seen_filter, updated_at = EXCLUDED.updated_at",
+            nativeQuery = true)
+    int upsert(@Param("userId") String userId,
+               @Param("seenFilter") byte[] seenFilter,
+               @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Users who were served feed pages since the cutoff, most recent first
+    @Query("SELECT s.userId FROM UserSeenPosts s WHERE s.updatedAt >= :since ORDER BY s.updatedAt DESC")
+    List<String> findUserIdsActiveSince(@Param("since") LocalDateTime since, Pageable pageable);
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -22,4 +23,12 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
     Page<Follow> findByFollowerIdAndStatus(String followerId, String status, Pageable pageable);
 
     Page<Follow> findByFollowingIdAndStatus(String followingId, String status, Pageable pageable);
+
+    // IDs of the users the given user follows (accepted only), unpaged and without loading entities
+    @Query("SELECT f.followerId FROM Follow f WHERE f.followingId = :userId AND f.status = 'accepted'")
+    List<String> findAcceptedFollowedUserIds(@Param("userId") String userId);
+
+    // IDs of the users who follow the given user (accepted only), bounded by the pageable
+    @Query("SELECT f.followingId FROM Follow f WHERE f.followerId = :userId AND f.status = 'accepted'")
+    List<String> findAcceptedFollowerUserIds(@Param("userId") String userId, Pageable pageable);
 }
\ No newline at end of file
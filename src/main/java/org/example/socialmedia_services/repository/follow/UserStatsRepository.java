@@ -6,7 +6,9 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -59,6 +61,34 @@ public interface UserStatsRepository extends JpaRepository<UserStats, String> {
     @Query("UPDATE UserStats us SET us.likesCount = CASE WHEN us.likesCount > 0 THEN us.likesCount - 1 ELSE 0 END WHERE us.userId = :userId")
     int decrementLikes(@Param("userId") String userId);
 
+    // Create zeroed stats rows for any of the given users (Postgres text[] literal) that have none
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO user_stats (user_id, followers_count, following_count, posts_count, likes_count) " +
+            "SELECT u, 0, 0, 0, 0 FROM unnest(CAST(:userIds AS text[])) AS u " +
+            "ON CONFLICT (user_id) DO NOTHING",
+            nativeQuery = true)
+    int insertMissing(@Param("userIds") String userIds);
+
+    // Apply batched like-count deltas; userIds and deltas are parallel Postgres array literals
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE user_stats us SET likes_count = GREATEST(0, us.likes_count + d.delta) " +
+            "FROM unnest(CAST(:userIds AS text[]), CAST(:deltas AS bigint[])) AS d(user_id, delta) " +
+            "WHERE us.user_id = d.user_id",
+            nativeQuery = true)
+    int addLikesCountDeltas(@Param("userIds") String userIds, @Param("deltas") String deltas);
+
+    // Reset likes_count to the number of post_likes rows per user where they differ
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE user_stats us SET likes_count = COALESCE(c.cnt, 0) FROM user_stats s " +
+            "LEFT JOIN (SELECT CAST(pl.user_id AS text) AS user_id, COUNT(*) AS cnt FROM post_likes pl " +
+            "GROUP BY pl.user_id) c ON c.user_id = s.user_id " +
+            "WHERE us.user_id = s.user_id AND us.likes_count IS DISTINCT FROM COALESCE(c.cnt, 0)",
+            nativeQuery = true)
+    int reconcileLikesCounts();
+
     // Get users with most followers
     @Query("SELECT us FROM UserStats us ORDER BY us.followersCount DESC")
     List<UserStats> findTopUsersByFollowers();
@@ -70,4 +100,9 @@ public interface UserStatsRepository extends JpaRepository<UserStats, String> {
     // Get users with most likes
     @Query("SELECT us FROM UserStats us ORDER BY us.likesCount DESC")
     List<UserStats> findTopUsersByLikes();
+
+    // Users from the given set whose follower count is above the threshold
+    @Query("SELECT us.userId FROM UserStats us WHERE us.userId IN :userIds AND us.followersCount > :threshold")
+    List<String> findUserIdsWithFollowersAbove(@Param("userIds") Collection<String> userIds,
+                                               @Param("threshold") Integer threshold);
 }
\ No newline at end of file
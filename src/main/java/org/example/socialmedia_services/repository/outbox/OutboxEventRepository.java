@@ -0,0 +1,43 @@
+package org.example.socialmedia_services.repository.outbox;
+
+import org.example.socialmedia_services.entity.outbox.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Claim the oldest unclaimed events by setting locked_until, and commit straight away so no row lock
+    // or connection is held while they are published. SKIP LOCKED lets several relays (one per instance)
+    // claim at once without blocking each other; rows are returned in no particular order
+    @Transactional
+    @Query(value = "UPDATE outbox_events SET locked_until = CURRENT_TIMESTAMP + :leaseSeconds * INTERVAL '1 second' " +
+            "WHERE event_id IN (SELECT event_id FROM outbox_events " +
+            "WHERE attempts < :maxAttempts AND (locked_until IS NULL OR locked_until < CURRENT_TIMESTAMP) " +
+            "ORDER BY event_id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "RETURNING *",
+            nativeQuery = true)
+    List<OutboxEvent> claimNextBatch(@Param("maxAttempts") int maxAttempts, @Param("limit") int limit,
+                                     @Param("leaseSeconds") long leaseSeconds);
+
+    // Remove published events; eventIds is a Postgres array literal such as {1,2,3}
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM outbox_events WHERE event_id = ANY(CAST(:eventIds AS bigint[]))",
+            nativeQuery = true)
+    int deleteByEventIds(@Param("eventIds") String eventIds);
+
+    // Count a failed publish and release the claim so the events are retried on the next run
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE outbox_events SET attempts = attempts + 1, locked_until = NULL " +
+            "WHERE event_id = ANY(CAST(:eventIds AS bigint[]))",
+            nativeQuery = true)
+    int recordFailedAttempt(@Param("eventIds") String eventIds);
+}
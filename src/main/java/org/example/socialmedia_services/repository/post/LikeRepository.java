@@ -1,11 +1,16 @@
 package org.example.socialmedia_services.repository.post;
 
 import org.example.socialmedia_services.entity.post.Likes;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,6 +22,35 @@ public interface LikeRepository extends JpaRepository<Likes, Long> {
     // Check if user has liked the post
     boolean existsByPostIdAndUserId(Long postId, Long userId);
 
+    // IDs of the given posts that the user has liked
+    @Query("SELECT l.postId FROM Likes l WHERE l.userId = :userId AND l.postId IN :postIds")
+    List<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
+    // IDs of the posts a user has liked, bounded by the pageable
+    @Query("SELECT l.postId FROM Likes l WHERE l.userId = :userId")
+    List<Long> findPostIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Toggle a like in one statement: delete it if present, otherwise insert it.
+    // Returns +1 (liked), -1 (unliked), 0 (a concurrent tap inserted it first - the insert hit
+    // uk_like_post_user and did nothing) or null if the post does not exist
+    @Query(value = "WITH removed AS (" +
+            "DELETE FROM post_likes WHERE post_id = :postId AND user_id = :userId RETURNING 1), " +
+            "inserted AS (" +
+            "INSERT INTO post_likes (post_id, user_id, liked_at) " +
+            "SELECT p.post_id, :userId, CURRENT_TIMESTAMP FROM posts p " +
+            "WHERE p.post_id = :postId AND NOT EXISTS (SELECT 1 FROM removed) " +
+            "ON CONFLICT (post_id, user_id) DO NOTHING RETURNING 1) " +
+            "SELECT CASE WHEN EXISTS (SELECT 1 FROM posts WHERE post_id = :postId) " +
+            "THEN (SELECT COUNT(*) FROM inserted) - (SELECT COUNT(*) FROM removed) END",
+            nativeQuery = true)
+    Long toggle(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    // Whether post_likes has the uk_like_post_user unique index that toggle's ON CONFLICT relies on
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM pg_indexes " +
+            "WHERE tablename = 'post_likes' AND indexname = 'uk_like_post_user')",
+            nativeQuery = true)
+    boolean hasPostUserUniqueIndex();
+
     // Count likes for a post
     Long countByPostId(Long postId);
 
@@ -3,9 +3,12 @@ package org.example.socialmedia_services.repository.post;
 import org.example.socialmedia_services.entity.post.PlaceWiseContent;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,6 +20,21 @@ public interface PlaceWiseContentRepository extends JpaRepository<PlaceWiseConte
     // Find place wise content by post ID
     List<PlaceWiseContent> findByPostId(Long postId);
 
+    // Find place wise content for several posts at once ordered by sequence
+    List<PlaceWiseContent> findByPostIdInOrderBySequenceOrderAsc(Collection<Long> postIds);
+
+    // Only the columns feed ranking needs: [postId, tripMood, activities, placeName, sequenceOrder]
+    @Query("SELECT pwc.postId, pwc.tripMood, pwc.activities, pwc.placeName, pwc.sequenceOrder " +
+            "FROM PlaceWiseContent pwc WHERE pwc.postId IN :postIds")
+    List<Object[]> findRankingAttributesByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // Cover image per post: first image of the first place (by sequence) that has one, extracted in the database
+    @Query(value = "SELECT DISTINCT ON (pwc.post_id) pwc.post_id, pwc.image_urls ->> 0 FROM place_wise_content pwc " +
+            "WHERE pwc.post_id IN (:postIds) AND pwc.image_urls ->> 0 IS NOT NULL " +
+            "ORDER BY pwc.post_id, pwc.sequence_order",
+            nativeQuery = true)
+    List<Object[]> findCoverImagesByPostIds(@Param("postIds") Collection<Long> postIds);
+
     // Delete all place wise content for a post
     @Modifying
     @Transactional
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,14 @@ public interface PostContentRepository extends JpaRepository<PostContent, Long>
     // Find PostContent by postId
     Optional<PostContent> findByPostId(Long postId);
 
+    // IDs of the given posts that have content
+    @Query("SELECT pc.postId FROM PostContent pc WHERE pc.postId IN :postIds")
+    List<Long> findExistingPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // Title and length of the given posts, without reading any of the jsonb content columns
+    @Query("SELECT pc.postId, pc.journeyTitle, pc.numberOfDays FROM PostContent pc WHERE pc.postId IN :postIds")
+    List<Object[]> findSummariesByPostIds(@Param("postIds") Collection<Long> postIds);
+
     // Delete PostContent by postId
     @Modifying
     @Transactional
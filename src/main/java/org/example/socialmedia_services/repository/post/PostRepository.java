@@ -1,11 +1,16 @@
 package org.example.socialmedia_services.repository.post;
 
 import org.example.socialmedia_services.entity.post.Post;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,4 +50,77 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     @Query(value = "SELECT p FROM Post p ORDER BY p.createdAt DESC",
             countQuery = "SELECT COUNT(p) FROM Post p")
     List<Post> findPostsWithContentPaginated(@Param("limit") int limit, @Param("offset") int offset);
-}
\ No newline at end of file
+
+    // Most recent posts across all users, bounded by the pageable
+    @Query("SELECT p FROM Post p ORDER BY p.createdAt DESC")
+    List<Post> findRecentPosts(Pageable pageable);
+
+    // Most recent posts from a set of creators, bounded by the pageable
+    @Query("SELECT p FROM Post p WHERE p.createdById IN :creatorIds ORDER BY p.createdAt DESC")
+    List<Post> findRecentByCreatorIds(@Param("creatorIds") Collection<Long> creatorIds, Pageable pageable);
+
+    // Apply batched like-count deltas; postIds and deltas are parallel Postgres array literals ("{1,2}", "{3,-1}")
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE posts p SET likes_count = GREATEST(0, COALESCE(p.likes_count, 0) + d.delta) " +
+            "FROM unnest(CAST(:postIds AS bigint[]), CAST(:deltas AS bigint[])) AS d(post_id, delta) " +
+            "WHERE p.post_id = d.post_id",
+            nativeQuery = true)
+    int addLikesCountDeltas(@Param("postIds") String postIds, @Param("deltas") String deltas);
+
+    // Adjust comments_count in place, so a comment never rewrites (and rolls back) likes_count
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE posts SET comments_count = GREATEST(0, COALESCE(comments_count, 0) + :delta) " +
+            "WHERE post_id = :postId",
+            nativeQuery = true)
+    int addCommentsCountDelta(@Param("postId") Long postId, @Param("delta") int delta);
+
+    // Highest post ID, used to walk the table in ID ranges
+    @Query("SELECT COALESCE(MAX(p.postId), 0) FROM Post p")
+    Long findMaxPostId();
+
+    // Reset likes_count to the number of post_likes rows for posts in (fromId, toId] where they differ
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE posts p SET likes_count = c.cnt FROM (" +
+            "SELECT p2.post_id, (SELECT COUNT(*) FROM post_likes pl WHERE pl.post_id = p2.post_id) AS cnt " +
+            "FROM posts p2 WHERE p2.post_id > :fromId AND p2.post_id <= :toId) c " +
+            "WHERE p.post_id = c.post_id AND p.likes_count IS DISTINCT FROM c.cnt",
+            nativeQuery = true)
+    int reconcileLikesCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // Following-only feed, first page: newest posts from the given creators
+    // creatorIds is a Postgres array literal ("{1,2,3}") so the statement has one bind parameter
+    // however many users are followed; served by idx_created_by_created_at
+    @Query(value = "SELECT p.* FROM posts p WHERE p.created_by_id = ANY(CAST(:creatorIds AS bigint[])) " +
+            "ORDER BY p.created_at DESC, p.post_id DESC LIMIT :limit", nativeQuery = true)
+    List<Post> findLatestByCreatorIds(@Param("creatorIds") String creatorIds, @Param("limit") int limit);
+
+    // Following-only feed, next page: posts strictly older than the (createdAt, postId) keyset position
+    @Query(value = "SELECT p.* FROM posts p WHERE p.created_by_id = ANY(CAST(:creatorIds AS bigint[])) " +
+            "AND (p.created_at, p.post_id) < (:createdAt, :postId) " +
+            "ORDER BY p.created_at DESC, p.post_id DESC LIMIT :limit", nativeQuery = true)
+    List<Post> findLatestByCreatorIdsBefore(@Param("creatorIds") String creatorIds,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("postId") Long postId,
+                                            @Param("limit") int limit);
+
+    // Most engaged posts created since the cutoff (a comment counts double), bounded by the pageable
+    @Query("SELECT p FROM Post p WHERE p.createdAt >= :since " +
+            "ORDER BY (COALESCE(p.likesCount, 0) + 2 * COALESCE(p.commentsCount, 0)) DESC, p.createdAt DESC")
+    List<Post> findTrendingSince(@Param("since") LocalDateTime since, Pageable pageable);
+
+    // Recent posts with a place whose trip mood or activities match the given lower-cased terms
+    @Query(value = "SELECT p.* FROM posts p WHERE p.created_at >= :since AND p.post_id IN (" +
+            "SELECT pwc.post_id FROM place_wise_content pwc " +
+            "WHERE LOWER(pwc.trip_mood) IN (:moods) " +
+            "OR CASE WHEN jsonb_typeof(pwc.activities) = 'array' " +
+            "THEN EXISTS (SELECT 1 FROM jsonb_array_elements_text(pwc.activities) a WHERE LOWER(a) IN (:activities)) " +
+            "ELSE false END) " +
+            "ORDER BY p.created_at DESC LIMIT :limit", nativeQuery = true)
+    List<Post> findRecentMatchingPreferences(@Param("moods") Collection<String> moods,
+                                             @Param("activities") Collection<String> activities,
+                                             @Param("since") LocalDateTime since,
+                                             @Param("limit") int limit);
+}
@@ -0,0 +1,39 @@
+package org.example.socialmedia_services.scheduler;
+
+import org.example.socialmedia_services.services.feed.FeedTimelineService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+public class FeedTimelineScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedTimelineScheduler.class);
+
+    @Autowired
+    private FeedTimelineService feedTimelineService;
+
+    @Value("${app.feed.timeline-retention-days:30}")
+    private int retentionDays;
+
+    /**
+     * Scheduled task to keep the materialized timelines bounded
+     * Runs every hour and removes entries older than the retention period
+     */
+    @Scheduled(fixedRate = 3600000) // 1 hour = 3,600,000 milliseconds
+    public void purgeExpiredTimelineEntries() {
+        logger.info("Starting scheduled feed timeline cleanup");
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+            int deleted = feedTimelineService.purgeOlderThan(cutoff);
+            logger.info("Scheduled feed timeline cleanup completed. Removed {} entries older than {}", deleted, cutoff);
+        } catch (Exception e) {
+            logger.error("Error in scheduled feed timeline cleanup: {}", e.getMessage(), e);
+        }
+    }
+}
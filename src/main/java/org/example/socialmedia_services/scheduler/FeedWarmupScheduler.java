@@ -0,0 +1,44 @@
+package org.example.socialmedia_services.scheduler;
+
+import org.example.socialmedia_services.services.feed.FeedWarmupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FeedWarmupScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedWarmupScheduler.class);
+
+    @Autowired
+    private FeedWarmupService feedWarmupService;
+
+    /**
+     * Warm feeds as soon as the application is ready, so a deploy does not start with cold caches
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        if (feedWarmupService.startWarmup("startup")) {
+            logger.info("Started feed warm-up after startup");
+        }
+    }
+
+    /**
+     * Scheduled task to re-warm feeds for active users
+     * Runs every 15 minutes in the background; skipped while the previous run is still going
+     */
+    @Scheduled(initialDelay = 900000, fixedRate = 900000) // 15 minutes = 900,000 milliseconds
+    public void warmUpActiveUsers() {
+        try {
+            if (!feedWarmupService.startWarmup("scheduled")) {
+                logger.debug("Feed warm-up not started (disabled or already running)");
+            }
+        } catch (Exception e) {
+            logger.error("Error starting scheduled feed warm-up: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.socialmedia_services.scheduler;
+
+import org.example.socialmedia_services.services.post.LikeCounterBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LikeCounterFlushScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikeCounterFlushScheduler.class);
+
+    @Autowired
+    private LikeCounterBuffer likeCounterBuffer;
+
+    /**
+     * Scheduled task to apply buffered like counts to posts and user_stats
+     * Runs every 500 ms, so stored counts trail the likes by well under a second
+     */
+    @Scheduled(fixedRate = 500) // 500 milliseconds
+    public void flushLikeCounts() {
+        try {
+            int flushed = likeCounterBuffer.flush();
+            if (flushed > 0) {
+                logger.debug("Flushed like counts for {} posts and users", flushed);
+            }
+        } catch (Exception e) {
+            logger.error("Error flushing like counts: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.socialmedia_services.scheduler;
+
+import org.example.socialmedia_services.services.kafka.OutboxRelay;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OutboxRelayScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelayScheduler.class);
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    /**
+     * Scheduled task to publish like, comment and follow events from the outbox to Kafka
+     * Runs every 200 ms and keeps draining while full batches come back
+     */
+    @Scheduled(fixedRate = 200) // 200 milliseconds
+    public void relayOutboxEvents() {
+        try {
+            int total = 0;
+            int published;
+            do {
+                published = outboxRelay.relayBatch();
+                total += published;
+            } while (published == outboxRelay.getBatchSize());
+
+            if (total > 0) {
+                logger.debug("Published {} outbox events", total);
+            }
+        } catch (Exception e) {
+            logger.error("Error publishing outbox events: {}", e.getMessage(), e);
+        }
+    }
+}
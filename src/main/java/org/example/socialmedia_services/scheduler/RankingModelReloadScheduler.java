@@ -0,0 +1,32 @@
+package org.example.socialmedia_services.scheduler;
+
+import org.example.socialmedia_services.services.feed.FeedRankingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RankingModelReloadScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RankingModelReloadScheduler.class);
+
+    @Autowired
+    private FeedRankingService feedRankingService;
+
+    /**
+     * Scheduled task to pick up edits to the ranking model config file
+     * Runs every 30 seconds; the file is only re-read when its modification time changes
+     */
+    @Scheduled(fixedRate = 30000) // 30 seconds = 30,000 milliseconds
+    public void reloadRankingModels() {
+        try {
+            if (feedRankingService.reloadIfChanged()) {
+                logger.info("Ranking model config change applied");
+            }
+        } catch (Exception e) {
+            logger.error("Error reloading ranking models: {}", e.getMessage(), e);
+        }
+    }
+}
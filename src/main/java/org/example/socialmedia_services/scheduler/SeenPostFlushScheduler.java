@@ -0,0 +1,33 @@
+package org.example.socialmedia_services.scheduler;
+
+import org.example.socialmedia_services.services.feed.SeenPostStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SeenPostFlushScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeenPostFlushScheduler.class);
+
+    @Autowired
+    private SeenPostStore seenPostStore;
+
+    /**
+     * Scheduled task to persist the seen-post filters updated by recent feed requests
+     * Runs every 30 seconds; a crash loses at most this much scroll history
+     */
+    @Scheduled(fixedRate = 30000) // 30 seconds = 30,000 milliseconds
+    public void flushSeenPostFilters() {
+        try {
+            int written = seenPostStore.flush();
+            if (written > 0) {
+                logger.debug("Persisted {} seen-post filters", written);
+            }
+        } catch (Exception e) {
+            logger.error("Error persisting seen-post filters: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.socialmedia_services.scheduler;
+
+import org.example.socialmedia_services.services.feed.TrendingIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TrendingIndexScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingIndexScheduler.class);
+
+    @Autowired
+    private TrendingIndex trendingIndex;
+
+    /**
+     * Scheduled task to publish a fresh trending top list
+     * Runs every 10 seconds; slides all windows and drops posts with no recent engagement
+     */
+    @Scheduled(fixedRate = 10000) // 10 seconds = 10,000 milliseconds
+    public void refreshTrendingPosts() {
+        try {
+            TrendingIndex.Ranking ranking = trendingIndex.refresh();
+            logger.debug("Trending index refreshed: {} ranked, {} tracked, {} events dropped",
+                    ranking.size(), trendingIndex.trackedPosts(), trendingIndex.droppedEvents());
+        } catch (Exception e) {
+            logger.error("Error refreshing trending index: {}", e.getMessage(), e);
+        }
+    }
+}
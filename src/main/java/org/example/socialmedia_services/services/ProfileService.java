@@ -5,9 +5,11 @@ import org.example.socialmedia_services.dto.profile.ProfileResponseDTO;
 import org.example.socialmedia_services.dto.profile.ProfileSetupdtoRequest;
 import org.example.socialmedia_services.entity.UserProfile;
 import org.example.socialmedia_services.entity.follow.UserStats;
+import org.example.socialmedia_services.event.UserPreferencesChangedEvent;
 import org.example.socialmedia_services.exception.BadRequestException;
 import org.example.socialmedia_services.repository.UserProfileRepository;
 import org.example.socialmedia_services.repository.follow.UserStatsRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,7 @@ public class ProfileService {
 
     private final UserProfileRepository userProfileRepository;
     private final UserStatsRepository userStatsRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public boolean completeUserSetup(ProfileSetupdtoRequest setupDTO) {
@@ -65,6 +68,8 @@ public class ProfileService {
         UserStats stats = new UserStats(setupDTO.getUserId());
         UserStats saved_stats = userStatsRepository.save(stats);
 
+        eventPublisher.publishEvent(new UserPreferencesChangedEvent(setupDTO.getUserId()));
+
         log.info("User setup completed successfully for user: {}", setupDTO.getUserId());
 
         // Build and return response
@@ -149,6 +154,8 @@ public class ProfileService {
             // Save the updated profile
             userProfileRepository.save(userProfile);
 
+            eventPublisher.publishEvent(new UserPreferencesChangedEvent(setupDTO.getUserId()));
+
             return true;
         } catch (Exception e) {
             log.error("Error updating profile for user: {}", setupDTO.getUserId(), e);
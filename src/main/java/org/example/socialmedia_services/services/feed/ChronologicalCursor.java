@@ -0,0 +1,58 @@
+package org.example.socialmedia_services.services.feed;
+
+import org.example.socialmedia_services.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for the following-only feed: the (createdAt, postId) keyset position
+ * of the last post served. The next page is every older post, so no ranking state is needed.
+ */
+public class ChronologicalCursor {
+
+    private static final String VERSION = "c1";
+
+    private final LocalDateTime createdAt;
+    private final long postId;
+
+    public ChronologicalCursor(LocalDateTime createdAt, long postId) {
+        this.createdAt = createdAt;
+        this.postId = postId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getPostId() {
+        return postId;
+    }
+
+    public String encode() {
+        // Seconds and nanos separately so the timestamp round-trips exactly
+        String raw = VERSION + ":" + createdAt.toEpochSecond(ZoneOffset.UTC) + ":" + createdAt.getNano() + ":" + postId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChronologicalCursor decode(String token) {
+        if (token == null) {
+            throw new BadRequestException("Invalid feed cursor");
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new BadRequestException("Invalid feed cursor");
+            }
+            LocalDateTime createdAt = LocalDateTime.ofEpochSecond(
+                    Long.parseLong(parts[1]), Integer.parseInt(parts[2]), ZoneOffset.UTC);
+            return new ChronologicalCursor(createdAt, Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new BadRequestException("Invalid feed cursor", e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.socialmedia_services.services.feed;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Optional re-rank pass that spreads out posts from the same creator or destination (MMR-style).
+ * Walks the ranking greedily: each position takes the best of the next `lookahead` remaining posts,
+ * with its score reduced by a penalty for every post from the same creator or destination among the
+ * last `window` positions already placed. Uses only cached ranking features, no queries;
+ * cost is O(n * lookahead * window) for a ranking of n posts.
+ *
+ * Scores are not changed, only the order. A post is never moved up by more than `lookahead` - 1
+ * positions, so the ranking stays close to the model's. With a block size, posts are only reordered
+ * within consecutive blocks (feed pages), so every block holds the same posts as in model order.
+ */
+@Component
+public class DiversityReranker {
+
+    private final boolean enabled;
+    private final int window;
+    private final int lookahead;
+    private final double creatorPenalty;
+    private final double destinationPenalty;
+
+    public DiversityReranker(@Value("${app.feed.diversity.enabled:false}") boolean enabled,
+                             @Value("${app.feed.diversity.window:5}") int window,
+                             @Value("${app.feed.diversity.lookahead:8}") int lookahead,
+                             @Value("${app.feed.diversity.creator-penalty:1.5}") double creatorPenalty,
+                             @Value("${app.feed.diversity.destination-penalty:1.0}") double destinationPenalty) {
+        if (window < 1 || lookahead < 1) {
+            throw new IllegalArgumentException("app.feed.diversity.window and lookahead must be at least 1");
+        }
+        this.enabled = enabled;
+        this.window = window;
+        this.lookahead = lookahead;
+        this.creatorPenalty = creatorPenalty;
+        this.destinationPenalty = destinationPenalty;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reorder a ranking for diversity
+     *
+     * @param ranked   candidate indices, best first
+     * @param scores   score per candidate index
+     * @param features ranking features per candidate index (entries may be null)
+     * @return the same candidate indices in diversified order
+     */
+    public int[] rerank(int[] ranked, double[] scores, PostRankingFeatures[] features) {
+        return rerank(ranked, scores, features, ranked.length);
+    }
+
+    /**
+     * Reorder a ranking for diversity without moving any post out of its block of blockSize positions.
+     * The redundancy window still looks back across block boundaries.
+     *
+     * @param blockSize size of the blocks posts stay within, usually the page size
+     * @return the same candidate indices in diversified order
+     */
+    public int[] rerank(int[] ranked, double[] scores, PostRankingFeatures[] features, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be at least 1");
+        }
+        int n = ranked.length;
+        if (n <= 1) {
+            return ranked;
+        }
+
+        int[] pending = ranked.clone();
+        int[] result = new int[n];
+        for (int placed = 0; placed < n; placed++) {
+            // pending[placed..n) holds the posts not yet placed, still in model order
+            int blockEnd = Math.min(n, (placed / blockSize + 1) * blockSize);
+            int end = Math.min(blockEnd, placed + lookahead);
+            int best = placed;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int j = placed; j < end; j++) {
+                double adjusted = scores[pending[j]] - redundancy(features[pending[j]], result, placed, features);
+                if (adjusted > bestScore) {
+                    bestScore = adjusted;
+                    best = j;
+                }
+            }
+
+            // Take the chosen post and shift the ones it skipped down by one, keeping their order
+            int chosen = pending[best];
+            System.arraycopy(pending, placed, pending, placed + 1, best - placed);
+            pending[placed] = chosen;
+            result[placed] = chosen;
+        }
+        return result;
+    }
+
+    private double redundancy(PostRankingFeatures post, int[] result, int placed, PostRankingFeatures[] features) {
+        if (post == null) {
+            return 0;
+        }
+        double penalty = 0;
+        for (int i = Math.max(0, placed - window); i < placed; i++) {
+            PostRankingFeatures previous = features[result[i]];
+            if (previous == null) {
+                continue;
+            }
+            if (post.getCreatorId() != null && post.getCreatorId().equals(previous.getCreatorId())) {
+                penalty += creatorPenalty;
+            }
+            if (post.getDestinationKey() != 0 && post.getDestinationKey() == previous.getDestinationKey()) {
+                penalty += destinationPenalty;
+            }
+        }
+        return penalty;
+    }
+}
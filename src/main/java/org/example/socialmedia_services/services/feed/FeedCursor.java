@@ -0,0 +1,79 @@
+package org.example.socialmedia_services.services.feed;
+
+import org.example.socialmedia_services.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for the personalized feed.
+ * Points into a cached ranking snapshot by offset, and also carries the score and postId of the
+ * last item served so the next page can resume by keyset position if the snapshot has expired.
+ */
+public class FeedCursor {
+
+    private static final String VERSION = "v1";
+
+    private final String snapshotId;
+    private final int offset;
+    private final double lastScore;
+    private final long lastPostId;
+
+    public FeedCursor(String snapshotId, int offset, double lastScore, long lastPostId) {
+        this.snapshotId = snapshotId;
+        this.offset = offset;
+        this.lastScore = lastScore;
+        this.lastPostId = lastPostId;
+    }
+
+    public String getSnapshotId() {
+        return snapshotId;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public double getLastScore() {
+        return lastScore;
+    }
+
+    public long getLastPostId() {
+        return lastPostId;
+    }
+
+    /**
+     * True if a post with this score and ID ranks strictly after the cursor position
+     * (score descending, then postId descending)
+     */
+    public boolean isAfter(double score, long postId) {
+        int cmp = Double.compare(score, lastScore);
+        return cmp < 0 || (cmp == 0 && postId < lastPostId);
+    }
+
+    public String encode() {
+        // The score is stored as raw bits so the keyset comparison is exact after a round trip
+        String raw = VERSION + ":" + snapshotId + ":" + offset + ":"
+                + Long.toHexString(Double.doubleToLongBits(lastScore)) + ":" + lastPostId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FeedCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new BadRequestException("Invalid feed cursor");
+            }
+            int offset = Integer.parseInt(parts[2]);
+            if (offset < 0) {
+                throw new BadRequestException("Invalid feed cursor");
+            }
+            return new FeedCursor(parts[1], offset,
+                    Double.longBitsToDouble(Long.parseUnsignedLong(parts[3], 16)),
+                    Long.parseLong(parts[4]));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid feed cursor", e);
+        }
+    }
+}
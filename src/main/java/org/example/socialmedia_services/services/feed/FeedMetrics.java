@@ -0,0 +1,151 @@
+package org.example.socialmedia_services.services.feed;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer instrumentation for the feed pipeline.
+ *
+ * feed.request{operation}  - end-to-end time of a feed request
+ * feed.stage{stage}        - time per pipeline stage and per repository call made by the pipeline
+ * feed.candidates.count    - candidate set size per ranked request (histogram)
+ * feed.requests.path{path} - how a page was served: cache, snapshot, ranked or keyset
+ *
+ * A sampled share of requests (app.feed.trace.sample-rate) also keeps its per-stage breakdown
+ * in a small ring buffer, exposed by the feedtraces actuator endpoint.
+ */
+@Component
+public class FeedMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary candidateCount;
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> requestTimers = new ConcurrentHashMap<>();
+    private final ThreadLocal<FeedTrace> currentTrace = new ThreadLocal<>();
+    private final Deque<Map<String, Object>> sampledTraces = new ArrayDeque<>();
+    private final AtomicLong requestIds = new AtomicLong();
+    private final double sampleRate;
+    private final int maxTraces;
+
+    public FeedMetrics(MeterRegistry meterRegistry,
+                       @Value("${app.feed.trace.sample-rate:0.01}") double sampleRate,
+                       @Value("${app.feed.trace.max-traces:100}") int maxTraces) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+        this.maxTraces = Math.max(1, maxTraces);
+        this.candidateCount = DistributionSummary.builder("feed.candidates.count")
+                .description("Candidate posts scored per ranked feed request")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start timing a feed request on this thread; use with try-with-resources
+     */
+    public FeedTrace startRequest(String userId, String operation) {
+        if (currentTrace.get() != null) {
+            return FeedTrace.nested();
+        }
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        FeedTrace trace = new FeedTrace(this, requestIds.incrementAndGet(), userId, operation, sampled);
+        currentTrace.set(trace);
+        return trace;
+    }
+
+    public <T> T time(String stage, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            record(stage, System.nanoTime() - start);
+        }
+    }
+
+    public void time(String stage, Runnable work) {
+        long start = System.nanoTime();
+        try {
+            work.run();
+        } finally {
+            record(stage, System.nanoTime() - start);
+        }
+    }
+
+    public void recordCandidates(int count) {
+        candidateCount.record(count);
+        attribute("candidates", count);
+    }
+
+    public void recordPath(String path) {
+        meterRegistry.counter("feed.requests.path", "path", path).increment();
+        attribute("path", path);
+    }
+
+    /**
+     * Attach a value to the current request's trace (kept only if the request is sampled)
+     */
+    public void attribute(String key, Object value) {
+        FeedTrace trace = currentTrace.get();
+        if (trace != null) {
+            trace.setAttribute(key, value);
+        }
+    }
+
+    /**
+     * Most recent sampled traces, newest first
+     */
+    public List<Map<String, Object>> recentTraces() {
+        synchronized (sampledTraces) {
+            return new ArrayList<>(sampledTraces);
+        }
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    void finish(FeedTrace trace) {
+        currentTrace.remove();
+        long totalNanos = trace.finish();
+        requestTimers.computeIfAbsent(trace.getOperation(), operation -> Timer.builder("feed.request")
+                        .description("End-to-end feed request time")
+                        .tag("operation", operation)
+                        .register(meterRegistry))
+                .record(totalNanos, TimeUnit.NANOSECONDS);
+
+        if (trace.isSampled()) {
+            synchronized (sampledTraces) {
+                sampledTraces.addFirst(trace.toMap());
+                while (sampledTraces.size() > maxTraces) {
+                    sampledTraces.removeLast();
+                }
+            }
+        }
+    }
+
+    private void record(String stage, long nanos) {
+        stageTimers.computeIfAbsent(stage, name -> Timer.builder("feed.stage")
+                        .description("Time spent in one stage of the feed pipeline")
+                        .tag("stage", name)
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+
+        FeedTrace trace = currentTrace.get();
+        if (trace != null) {
+            trace.addStage(stage, nanos);
+        }
+    }
+}
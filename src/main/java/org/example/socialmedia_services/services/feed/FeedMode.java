@@ -0,0 +1,24 @@
+package org.example.socialmedia_services.services.feed;
+
+import org.example.socialmedia_services.exception.BadRequestException;
+
+/**
+ * Which posts a feed contains and how they are ordered.
+ * RANKED is the personalized ranking over all candidate sources; FOLLOWING is posts from
+ * followed users only, newest first, read with a single keyset query.
+ */
+public enum FeedMode {
+    RANKED,
+    FOLLOWING;
+
+    public static FeedMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return RANKED;
+        }
+        try {
+            return FeedMode.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid feed mode '" + value + "', expected ranked or following");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.socialmedia_services.services.feed;
+
+import org.example.socialmedia_services.dto.feed.FeedResponse;
+import org.example.socialmedia_services.entity.post.Post;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A ranked page of the feed before hydration: the posts in display order, their rank scores,
+ * and the response header (paging fields, cursor, model) with posts not yet filled in.
+ */
+public class FeedPage {
+
+    private final List<Post> posts;
+    private final Map<Long, Double> rankScores;
+    private final FeedResponse header;
+
+    public FeedPage(List<Post> posts, Map<Long, Double> rankScores, FeedResponse header) {
+        this.posts = posts;
+        this.rankScores = rankScores;
+        this.header = header;
+    }
+
+    public List<Post> getPosts() {
+        return posts;
+    }
+
+    public Map<Long, Double> getRankScores() {
+        return rankScores;
+    }
+
+    public FeedResponse getHeader() {
+        return header;
+    }
+}
@@ -0,0 +1,218 @@
+package org.example.socialmedia_services.services.feed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.socialmedia_services.dto.feed.FeedPostDTO;
+import org.example.socialmedia_services.dto.feed.FeedPostSummaryDTO;
+import org.example.socialmedia_services.entity.post.PlaceWiseContent;
+import org.example.socialmedia_services.entity.post.Post;
+import org.example.socialmedia_services.entity.post.PostContent;
+import org.example.socialmedia_services.repository.UserProfileRepository;
+import org.example.socialmedia_services.repository.post.PlaceWiseContentRepository;
+import org.example.socialmedia_services.repository.post.PostContentRepository;
+import org.example.socialmedia_services.services.post.LikedPostsCache;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Assembles FeedPostDTOs for one page of posts.
+ * Collects the page's post and creator IDs, bulk-loads profiles, content, place-wise content
+ * with one query each and the viewer's likes from LikedPostsCache, then builds the DTOs in memory.
+ * The number of statements per page stays constant regardless of page size.
+ * Summary cards use narrow projections instead and never read the jsonb content columns.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FeedPageHydrator {
+
+    private static final String UNKNOWN_CREATOR_NAME = "Unknown User";
+
+    private final UserProfileRepository userProfileRepository;
+    private final PostContentRepository postContentRepository;
+    private final PlaceWiseContentRepository placeWiseContentRepository;
+    private final LikedPostsCache likedPostsCache;
+    private final FeedMetrics feedMetrics;
+
+    /**
+     * Convert a page of posts to FeedPostDTOs, keeping the order of the given list
+     *
+     * @param posts         posts on the page, in display order
+     * @param rankScores    rank score per post ID (optional, may be empty)
+     * @param currentUserId viewer, used to resolve isLikedByUser
+     */
+    public List<FeedPostDTO> hydrate(List<Post> posts, Map<Long, Double> rankScores, String currentUserId) {
+        if (posts.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> postIds = posts.stream()
+                .map(Post::getPostId)
+                .collect(Collectors.toList());
+        Set<String> creatorIds = posts.stream()
+                .map(post -> String.valueOf(post.getCreatedById()))
+                .collect(Collectors.toSet());
+
+        // 1. Creator display info
+        Map<String, Object[]> creatorInfo = loadCreatorInfo(creatorIds);
+
+        // 2. Post content
+        Map<Long, PostContent> contentByPostId = new HashMap<>();
+        for (PostContent content : feedMetrics.time("hydrate.content",
+                () -> postContentRepository.findAllById(postIds))) {
+            contentByPostId.put(content.getPostId(), content);
+        }
+
+        // 3. Place-wise content, already ordered by sequence
+        Map<Long, List<PlaceWiseContent>> placesByPostId = feedMetrics.time("hydrate.places",
+                        () -> placeWiseContentRepository.findByPostIdInOrderBySequenceOrderAsc(postIds))
+                .stream()
+                .collect(Collectors.groupingBy(PlaceWiseContent::getPostId));
+
+        // 4. Which of these posts the viewer has liked
+        Set<Long> likedPostIds = findLikedPostIds(postIds, currentUserId);
+
+        List<FeedPostDTO> feedPostDTOs = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            feedPostDTOs.add(toFeedPostDTO(post,
+                    creatorInfo.get(String.valueOf(post.getCreatedById())),
+                    contentByPostId.get(post.getPostId()),
+                    placesByPostId.get(post.getPostId()),
+                    likedPostIds.contains(post.getPostId()),
+                    rankScores.get(post.getPostId())));
+        }
+        return feedPostDTOs;
+    }
+
+    /**
+     * Convert a page of posts to summary cards, keeping the order of the given list.
+     * Reads title and length from post_content and one cover image per post, nothing else.
+     */
+    public List<FeedPostSummaryDTO> hydrateSummaries(List<Post> posts, Map<Long, Double> rankScores,
+                                                     String currentUserId) {
+        if (posts.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> postIds = posts.stream()
+                .map(Post::getPostId)
+                .collect(Collectors.toList());
+        Set<String> creatorIds = posts.stream()
+                .map(post -> String.valueOf(post.getCreatedById()))
+                .collect(Collectors.toSet());
+
+        Map<String, Object[]> creatorInfo = loadCreatorInfo(creatorIds);
+
+        Map<Long, Object[]> summaryByPostId = new HashMap<>();
+        for (Object[] row : feedMetrics.time("hydrate.summaries",
+                () -> postContentRepository.findSummariesByPostIds(postIds))) {
+            summaryByPostId.put((Long) row[0], row);
+        }
+
+        Map<Long, String> coverByPostId = new HashMap<>();
+        for (Object[] row : feedMetrics.time("hydrate.cover_images",
+                () -> placeWiseContentRepository.findCoverImagesByPostIds(postIds))) {
+            coverByPostId.put(((Number) row[0]).longValue(), (String) row[1]);
+        }
+
+        Set<Long> likedPostIds = findLikedPostIds(postIds, currentUserId);
+
+        List<FeedPostSummaryDTO> summaries = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            Object[] creator = creatorInfo.get(String.valueOf(post.getCreatedById()));
+            Object[] summary = summaryByPostId.get(post.getPostId());
+            summaries.add(FeedPostSummaryDTO.builder()
+                    .postId(post.getPostId())
+                    .createdById(post.getCreatedById())
+                    .creatorName(creator != null ? (String) creator[1] : UNKNOWN_CREATOR_NAME)
+                    .creatorProfileUrl(creator != null ? (String) creator[2] : null)
+                    .createdAt(post.getCreatedAt())
+                    .likesCount(post.getLikesCount())
+                    .commentsCount(post.getCommentsCount())
+                    .isLikedByUser(likedPostIds.contains(post.getPostId()))
+                    .journeyTitle(summary != null ? (String) summary[1] : null)
+                    .numberOfDays(summary != null ? (Integer) summary[2] : null)
+                    .coverImageUrl(coverByPostId.get(post.getPostId()))
+                    .rankScore(rankScores.get(post.getPostId()))
+                    .build());
+        }
+        return summaries;
+    }
+
+    private Map<String, Object[]> loadCreatorInfo(Set<String> creatorIds) {
+        Map<String, Object[]> creatorInfo = new HashMap<>();
+        for (Object[] row : feedMetrics.time("hydrate.creators",
+                () -> userProfileRepository.findActiveDisplayInfoByUserIds(creatorIds))) {
+            creatorInfo.put((String) row[0], row);
+        }
+        return creatorInfo;
+    }
+
+    private Set<Long> findLikedPostIds(List<Long> postIds, String currentUserId) {
+        if (currentUserId == null) {
+            return Collections.emptySet();
+        }
+        try {
+            Long currentUserIdLong = Long.valueOf(currentUserId);
+            return feedMetrics.time("hydrate.likes", () -> likedPostsCache.likedAmong(currentUserIdLong, postIds));
+        } catch (NumberFormatException e) {
+            log.warn("Invalid user ID format: {}", currentUserId);
+            return Collections.emptySet();
+        }
+    }
+
+    private FeedPostDTO toFeedPostDTO(Post post, Object[] creator, PostContent postContent,
+                                      List<PlaceWiseContent> placeWiseContentList,
+                                      boolean isLikedByUser, Double rankScore) {
+        FeedPostDTO.FeedPostDTOBuilder builder = FeedPostDTO.builder()
+                .postId(post.getPostId())
+                .createdById(post.getCreatedById())
+                .creatorName(creator != null ? (String) creator[1] : UNKNOWN_CREATOR_NAME)
+                .creatorProfileUrl(creator != null ? (String) creator[2] : null)
+                .createdAt(post.getCreatedAt())
+                .likesCount(post.getLikesCount())
+                .commentsCount(post.getCommentsCount())
+                .isLikedByUser(isLikedByUser);
+
+        // Add rank score if provided
+        if (rankScore != null) {
+            builder.rankScore(rankScore);
+        }
+
+        if (postContent != null) {
+            builder.journeyTitle(postContent.getJourneyTitle())
+                    .numberOfDays(postContent.getNumberOfDays())
+                    .placesVisited(postContent.getPlacesVisited())
+                    .budgetInfo(postContent.getBudgetInfo())
+                    .travelTips(postContent.getTravelTips())
+                    .transportationOptions(postContent.getTransportationOptions())
+                    .hotelRecommendations(postContent.getHotelRecommendations())
+                    .restaurantRecommendations(postContent.getRestaurantRecommendations());
+
+            if (placeWiseContentList != null && !placeWiseContentList.isEmpty()) {
+                builder.placeWiseContent(placeWiseContentList.stream()
+                        .map(this::toPlaceWiseContentDTO)
+                        .collect(Collectors.toList()));
+            }
+        }
+
+        return builder.build();
+    }
+
+    private FeedPostDTO.PlaceWiseContentDTO toPlaceWiseContentDTO(PlaceWiseContent pwc) {
+        return FeedPostDTO.PlaceWiseContentDTO.builder()
+                .placeWiseContentId(pwc.getPlaceWiseContentId())
+                .placeName(pwc.getPlaceName())
+                .latitude(pwc.getLatitude() != null ? pwc.getLatitude().doubleValue() : null)
+                .longitude(pwc.getLongitude() != null ? pwc.getLongitude().doubleValue() : null)
+                .address(pwc.getAddress())
+                .tripMood(pwc.getTripMood())
+                .activities(pwc.getActivities())
+                .experiences(pwc.getExperiences())
+                .imageUrls(pwc.getImageUrls())
+                .sequenceOrder(pwc.getSequenceOrder())
+                .build();
+    }
+}
@@ -1,198 +1,149 @@
 package org.example.socialmedia_services.services.feed;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.socialmedia_services.entity.UserProfile;
-import org.example.socialmedia_services.entity.post.PlaceWiseContent;
-import org.example.socialmedia_services.entity.post.Post;
-import org.example.socialmedia_services.entity.post.PostContent;
-import org.example.socialmedia_services.repository.post.PlaceWiseContentRepository;
-import org.example.socialmedia_services.repository.post.PostContentRepository;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
+/**
+ * Entry point for feed ranking: encodes a viewer's preferences and picks the RankingModel for the request.
+ * The active RankingModelSet is held in an AtomicReference and replaced as a whole on reload,
+ * so the scoring path only ever does a volatile read and never locks.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FeedRankingService {
 
-    private final PostContentRepository postContentRepository;
-    private final PlaceWiseContentRepository placeWiseContentRepository;
-
-    // Ranking weights - tuned for optimal feed experience
-    private static final double FOLLOWER_WEIGHT = 3.0;
-    private static final double RECENCY_WEIGHT = 2.5;
-    private static final double ENGAGEMENT_WEIGHT = 2.0;
-    private static final double ACTIVITY_MATCH_WEIGHT = 1.5;
-    private static final double MOOD_MATCH_WEIGHT = 1.5;
-
-    // Engagement scoring
-    private static final double LIKE_SCORE = 1.0;
-    private static final double COMMENT_SCORE = 2.0;
-
-    // Time decay parameters
-    private static final double RECENCY_DECAY_DAYS = 7.0;
-
-    /**
-     * Calculate ranking score for a post based on multiple factors
-     */
-    public double calculatePostScore(Post post, UserProfile userProfile, Set<String> followingIds) {
-        double score = 0.0;
-
-        // 1. Follower Boost - higher if post is from someone the user follows
-        score += calculateFollowerBoost(post, followingIds);
-
-        // 2. Recency Score - more recent posts score higher
-        score += calculateRecencyScore(post);
-
-        // 3. Engagement Score - likes and comments
-        score += calculateEngagementScore(post);
-
-        // 4. Activity Matching - match user's favorite activities with post activities
-        score += calculateActivityMatchScore(post, userProfile);
-
-        // 5. Trip Mood Matching - match user's preferred moods with post moods
-        score += calculateMoodMatchScore(post, userProfile);
-
-        log.debug("Post {} score: {}", post.getPostId(), score);
-        return score;
+    private final PreferenceVocabulary vocabulary;
+    private final RankingModelLoader rankingModelLoader;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicReference<RankingModelSet> modelSet = new AtomicReference<>();
+    private volatile long loadedConfigLastModified;
+
+    @PostConstruct
+    public void loadModels() {
+        try {
+            loadedConfigLastModified = rankingModelLoader.configFileLastModified();
+            modelSet.set(rankingModelLoader.load());
+        } catch (Exception e) {
+            log.error("Invalid ranking model config, falling back to default weights: {}", e.getMessage(), e);
+            RankingModel fallback = LinearRankingModel.withDefaults("linear");
+            modelSet.set(new RankingModelSet(Map.of(fallback.name(), fallback),
+                    List.of(new RankingModelSet.Allocation(fallback, RankingModelSet.BUCKETS)), fallback, "feed-ranking"));
+        }
+        log.info("Ranking models loaded: {}", describe(modelSet.get()));
     }
 
     /**
-     * Boost score if post is from a followed user
+     * Reload the model set if the override file changed since the last load.
+     * An invalid file is logged and the current models stay active.
      */
-    private double calculateFollowerBoost(Post post, Set<String> followingIds) {
-        String postCreatorId = String.valueOf(post.getCreatedById());
-        if (followingIds.contains(postCreatorId)) {
-            return FOLLOWER_WEIGHT * 10.0; // Significant boost for followed users
+    public boolean reloadIfChanged() {
+        long lastModified = rankingModelLoader.configFileLastModified();
+        if (lastModified == loadedConfigLastModified) {
+            return false;
+        }
+        try {
+            RankingModelSet reloaded = rankingModelLoader.load();
+            modelSet.set(reloaded);
+            log.info("Ranking models reloaded: {}", describe(reloaded));
+            return true;
+        } catch (Exception e) {
+            log.error("Ignoring invalid ranking model config, keeping current models: {}", e.getMessage(), e);
+            return false;
+        } finally {
+            // Do not retry a broken file on every poll - wait for the next edit
+            loadedConfigLastModified = lastModified;
         }
-        return 0.0;
     }
 
     /**
-     * Calculate recency score with time decay
-     * Recent posts get higher scores, with exponential decay over time
+     * Pick the ranking model for this request from the viewer's A/B bucket
      */
-    private double calculateRecencyScore(Post post) {
-        LocalDateTime now = LocalDateTime.now();
-        long hoursSincePost = ChronoUnit.HOURS.between(post.getCreatedAt(), now);
-        double daysSincePost = hoursSincePost / 24.0;
-
-        // Exponential decay: score decreases as post gets older
-        double recencyScore = Math.exp(-daysSincePost / RECENCY_DECAY_DAYS) * 10.0;
-
-        return RECENCY_WEIGHT * recencyScore;
+    public RankingModel selectModel(String userId) {
+        return selectModel(userId, true);
     }
 
     /**
-     * Calculate engagement score based on likes and comments
+     * Pick the viewer's ranking model, counting it in feed.ranking.requests only if countRequest is set
+     * (background work such as feed warm-up would otherwise skew the A/B traffic split)
      */
-    private double calculateEngagementScore(Post post) {
-        int likes = post.getLikesCount() != null ? post.getLikesCount() : 0;
-        int comments = post.getCommentsCount() != null ? post.getCommentsCount() : 0;
-
-        double engagementScore = (likes * LIKE_SCORE) + (comments * COMMENT_SCORE);
-
-        // Apply logarithmic scaling to prevent viral posts from dominating
-        if (engagementScore > 0) {
-            engagementScore = Math.log1p(engagementScore) * 3.0;
+    public RankingModel selectModel(String userId, boolean countRequest) {
+        RankingModel model = modelSet.get().select(userId);
+        if (countRequest) {
+            meterRegistry.counter("feed.ranking.requests", "model", model.name()).increment();
         }
-
-        return ENGAGEMENT_WEIGHT * engagementScore;
+        return model;
     }
 
     /**
-     * Calculate activity matching score
-     * Compares user's favorite activities with post's activities
+     * Normalize a user's preferences once per request so scoring each post is pure CPU work
      */
-    private double calculateActivityMatchScore(Post post, UserProfile userProfile) {
-        if (userProfile.getFavouriteActivities() == null || userProfile.getFavouriteActivities().isEmpty()) {
-            return 0.0;
-        }
-
-        // Fetch PostContent manually
-        PostContent postContent = postContentRepository.findById(post.getPostId()).orElse(null);
-        if (postContent == null) {
-            return 0.0;
-        }
+    public UserPreferences preferencesOf(UserProfile userProfile) {
+        Set<String> activities = lowerCaseSet(userProfile.getFavouriteActivities());
+        Set<String> moods = lowerCaseSet(userProfile.getPreferredTripMoods());
+        return new UserPreferences(
+                vocabulary.activities().encode(activities), activities.size(),
+                vocabulary.moods().encode(moods), moods.size());
+    }
 
-        // Get user's favorite activities (case-insensitive)
-        Set<String> userActivities = userProfile.getFavouriteActivities().stream()
-                .map(String::toLowerCase)
-                .collect(Collectors.toSet());
+    private static String describe(RankingModelSet set) {
+        return set.getAllocations().stream()
+                .map(allocation -> allocation.getModel().name() + "=" + allocation.getPercent() + "%")
+                .collect(Collectors.joining(", "));
+    }
 
-        // Get all activities from post's place-wise content - fetch separately
-        List<PlaceWiseContent> placeWiseContentList = placeWiseContentRepository.findByPostId(post.getPostId());
-        if (placeWiseContentList == null || placeWiseContentList.isEmpty()) {
-            return 0.0;
+    private static Set<String> lowerCaseSet(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptySet();
         }
-
-        Set<String> postActivities = placeWiseContentList.stream()
-                .filter(pwc -> pwc.getActivities() != null)
-                .flatMap(pwc -> pwc.getActivities().stream())
+        return values.stream()
                 .map(String::toLowerCase)
                 .collect(Collectors.toSet());
-
-        // Calculate match percentage
-        long matchCount = userActivities.stream()
-                .filter(postActivities::contains)
-                .count();
-
-        if (matchCount == 0) {
-            return 0.0;
-        }
-
-        double matchScore = (double) matchCount / userActivities.size() * 10.0;
-        return ACTIVITY_MATCH_WEIGHT * matchScore;
     }
 
     /**
-     * Calculate trip mood matching score
-     * Compares user's preferred trip moods with post's moods
+     * A user's favourite activities and preferred trip moods encoded against the shared vocabulary.
+     * Counts are the number of distinct lower-cased terms, used as the match denominator.
      */
-    private double calculateMoodMatchScore(Post post, UserProfile userProfile) {
-        if (userProfile.getPreferredTripMoods() == null || userProfile.getPreferredTripMoods().isEmpty()) {
-            return 0.0;
+    public static class UserPreferences {
+        private final long[] activityMask;
+        private final int activityCount;
+        private final long[] moodMask;
+        private final int moodCount;
+
+        public UserPreferences(long[] activityMask, int activityCount, long[] moodMask, int moodCount) {
+            this.activityMask = activityMask;
+            this.activityCount = activityCount;
+            this.moodMask = moodMask;
+            this.moodCount = moodCount;
         }
 
-        // Fetch PostContent manually
-        PostContent postContent = postContentRepository.findById(post.getPostId()).orElse(null);
-        if (postContent == null) {
-            return 0.0;
+        public long[] getActivityMask() {
+            return activityMask;
         }
 
-        // Get user's preferred moods (case-insensitive)
-        Set<String> userMoods = userProfile.getPreferredTripMoods().stream()
-                .map(String::toLowerCase)
-                .collect(Collectors.toSet());
-
-        // Get all moods from post's place-wise content - fetch separately
-        List<PlaceWiseContent> placeWiseContentList = placeWiseContentRepository.findByPostId(post.getPostId());
-        if (placeWiseContentList == null || placeWiseContentList.isEmpty()) {
-            return 0.0;
+        public int getActivityCount() {
+            return activityCount;
         }
 
-        Set<String> postMoods = placeWiseContentList.stream()
-                .map(PlaceWiseContent::getTripMood)
-                .filter(mood -> mood != null && !mood.isEmpty())
-                .map(String::toLowerCase)
-                .collect(Collectors.toSet());
-
-        // Calculate match percentage
-        long matchCount = userMoods.stream()
-                .filter(postMoods::contains)
-                .count();
-
-        if (matchCount == 0) {
-            return 0.0;
+        public long[] getMoodMask() {
+            return moodMask;
         }
 
-        double matchScore = (double) matchCount / userMoods.size() * 10.0;
-        return MOOD_MATCH_WEIGHT * matchScore;
+        public int getMoodCount() {
+            return moodCount;
+        }
     }
 }
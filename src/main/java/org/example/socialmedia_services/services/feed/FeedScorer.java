@@ -0,0 +1,129 @@
+package org.example.socialmedia_services.services.feed;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Scores a candidate set into a primitive array.
+ * Small sets are scored on the calling thread. With app.feed.parallel-scoring.enabled, sets at or
+ * above the threshold are split across a dedicated, bounded ForkJoinPool - never the common pool,
+ * so feed scoring cannot starve parallel streams elsewhere in the application.
+ *
+ * The default threshold of 2000 is a provisional estimate, not a measured crossover: in a single-core
+ * sandbox one candidate cost roughly 0.15 us to score, so 2000 candidates are ~0.3 ms of work, about 30x
+ * the ~10 us fixed cost of a pool.invoke that splits into 256-item chunks. Where parallel scoring starts
+ * paying off on multi-core hosts has not been measured - re-check with FeedScorerBenchmark there.
+ *
+ * The default candidate caps (app.feed.candidates.*-limit, 500 + 200 + 200) keep candidate sets at or
+ * under 900, so at default settings the parallel path never runs even when enabled; it only matters once
+ * the caps are raised or the threshold is lowered.
+ */
+@Component
+@Slf4j
+public class FeedScorer {
+
+    private final boolean parallelEnabled;
+    private final int threshold;
+    private final int chunkSize;
+    private final ForkJoinPool pool;
+
+    public FeedScorer(@Value("${app.feed.parallel-scoring.enabled:false}") boolean parallelEnabled,
+                      @Value("${app.feed.parallel-scoring.threshold:2000}") int threshold,
+                      @Value("${app.feed.parallel-scoring.chunk-size:256}") int chunkSize,
+                      @Value("${app.feed.parallel-scoring.parallelism:0}") int parallelism) {
+        this.parallelEnabled = parallelEnabled;
+        this.threshold = threshold;
+        this.chunkSize = Math.max(1, chunkSize);
+        // 0 means one worker per available core
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = parallelEnabled ? new ForkJoinPool(workers, FeedScorer::newWorker, null, false) : null;
+        if (parallelEnabled) {
+            log.info("Parallel feed scoring enabled: {} workers, threshold={}, chunkSize={}",
+                    workers, threshold, this.chunkSize);
+        }
+    }
+
+    /**
+     * Score every candidate; scores[i] belongs to features[i]
+     */
+    public double[] score(PostRankingFeatures[] features, FeedRankingService.UserPreferences preferences,
+                          long[] followingIds, RankingClock clock, RankingModel model) {
+        double[] scores = new double[features.length];
+        if (pool == null || features.length < threshold) {
+            scoreRange(features, preferences, followingIds, clock, model, scores, 0, features.length);
+        } else {
+            pool.invoke(new ScoreTask(features, preferences, followingIds, clock, model, scores, 0, features.length));
+        }
+        return scores;
+    }
+
+    public boolean isParallelEnabled() {
+        return parallelEnabled;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private void scoreRange(PostRankingFeatures[] features, FeedRankingService.UserPreferences preferences,
+                            long[] followingIds, RankingClock clock, RankingModel model,
+                            double[] scores, int from, int to) {
+        for (int i = from; i < to; i++) {
+            scores[i] = model.score(features[i], preferences, followingIds, clock);
+        }
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("feed-scoring-" + thread.getPoolIndex());
+        return thread;
+    }
+
+    /**
+     * Splits the index range in halves until it fits in one chunk; each leaf writes a disjoint slice
+     */
+    private class ScoreTask extends RecursiveAction {
+
+        private final PostRankingFeatures[] features;
+        private final FeedRankingService.UserPreferences preferences;
+        private final long[] followingIds;
+        private final RankingClock clock;
+        private final RankingModel model;
+        private final double[] scores;
+        private final int from;
+        private final int to;
+
+        ScoreTask(PostRankingFeatures[] features, FeedRankingService.UserPreferences preferences,
+                  long[] followingIds, RankingClock clock, RankingModel model,
+                  double[] scores, int from, int to) {
+            this.features = features;
+            this.preferences = preferences;
+            this.followingIds = followingIds;
+            this.clock = clock;
+            this.model = model;
+            this.scores = scores;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                scoreRange(features, preferences, followingIds, clock, model, scores, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ScoreTask(features, preferences, followingIds, clock, model, scores, from, mid),
+                    new ScoreTask(features, preferences, followingIds, clock, model, scores, mid, to));
+        }
+    }
+}
@@ -2,28 +2,20 @@ package org.example.socialmedia_services.services.feed;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.example.socialmedia_services.dto.feed.FeedPostDTO;
 import org.example.socialmedia_services.dto.feed.FeedResponse;
 import org.example.socialmedia_services.entity.UserProfile;
-import org.example.socialmedia_services.entity.follow.Follow;
-import org.example.socialmedia_services.entity.post.PlaceWiseContent;
 import org.example.socialmedia_services.entity.post.Post;
-import org.example.socialmedia_services.entity.post.PostContent;
 import org.example.socialmedia_services.exception.BadRequestException;
 import org.example.socialmedia_services.repository.UserProfileRepository;
-import org.example.socialmedia_services.repository.follow.FollowRepository;
-import org.example.socialmedia_services.repository.post.LikeRepository;
-import org.example.socialmedia_services.repository.post.PlaceWiseContentRepository;
-import org.example.socialmedia_services.repository.post.PostContentRepository;
 import org.example.socialmedia_services.repository.post.PostRepository;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.PageRequest;
+import org.example.socialmedia_services.services.feed.candidate.FeedCandidateGenerator;
+import org.example.socialmedia_services.services.feed.candidate.FeedCandidateQuery;
+import org.example.socialmedia_services.services.follow.FollowGraphCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -31,30 +23,268 @@ import java.util.stream.Collectors;
 public class FeedService {
 
     private final PostRepository postRepository;
-    private final PostContentRepository postContentRepository;
-    private final PlaceWiseContentRepository placeWiseContentRepository;
-    private final FollowRepository followRepository;
+    private final FollowGraphCache followGraphCache;
     private final UserProfileRepository userProfileRepository;
-    private final LikeRepository likeRepository;
     private final FeedRankingService feedRankingService;
+    private final FeedScorer feedScorer;
+    private final FeedCandidateGenerator feedCandidateGenerator;
+    private final FeedPageHydrator feedPageHydrator;
+    private final RankingFeatureCache rankingFeatureCache;
+    private final FeedSnapshotStore feedSnapshotStore;
+    private final RankedFeedCache rankedFeedCache;
+    private final FeedMetrics feedMetrics;
+    private final TrendingIndex trendingIndex;
+    private final SeenPostStore seenPostStore;
+    private final DiversityReranker diversityReranker;
 
     private static final int DEFAULT_PAGE_SIZE = 20;
     private static final int MAX_PAGE_SIZE = 100;
 
+    @Value("${app.feed.snapshot-depth:200}")
+    private int snapshotDepth;
+
     /**
      * Generate personalized feed for a user with ranking algorithm
      */
     @Transactional(readOnly = true)
     public FeedResponse getPersonalizedFeed(String userId, Integer page, Integer size) {
-        log.info("Generating personalized feed for userId={}, page={}, size={}", userId, page, size);
+        return getPersonalizedFeed(userId, page, size, null);
+    }
+
+    /**
+     * Generate personalized feed for a user, continuing from an opaque cursor when one is given.
+     * Without a cursor the feed is ranked from scratch and page/size are used as before.
+     */
+    @Transactional(readOnly = true)
+    public FeedResponse getPersonalizedFeed(String userId, Integer page, Integer size, String cursor) {
+        return getPersonalizedFeed(userId, page, size, cursor, FeedView.FULL);
+    }
+
+    /**
+     * Generate personalized feed in the requested view; SUMMARY returns cards built from narrow projections
+     */
+    @Transactional(readOnly = true)
+    public FeedResponse getPersonalizedFeed(String userId, Integer page, Integer size, String cursor, FeedView view) {
+        return getPersonalizedFeed(userId, page, size, cursor, view, FeedMode.RANKED);
+    }
+
+    /**
+     * Generate the feed in the requested mode and view.
+     * FOLLOWING skips ranking entirely: posts from followed users, newest first, paged by cursor.
+     */
+    @Transactional(readOnly = true)
+    public FeedResponse getPersonalizedFeed(String userId, Integer page, Integer size, String cursor,
+                                            FeedView view, FeedMode mode) {
+        try (FeedTrace trace = feedMetrics.startRequest(userId, "feed")) {
+            FeedPage feedPage = planFeedPage(userId, page, size, cursor, mode);
+
+            // Convert to DTOs with user details - bulk-loaded for the whole page
+            FeedResponse feedResponse = feedPage.getHeader();
+            feedMetrics.attribute("view", view);
+            if (view == FeedView.SUMMARY) {
+                feedResponse.setPosts(feedMetrics.time("hydrate", () -> feedPageHydrator.hydrateSummaries(
+                        feedPage.getPosts(), feedPage.getRankScores(), userId)));
+            } else {
+                feedResponse.setPosts(feedMetrics.time("hydrate", () -> feedPageHydrator.hydrate(
+                        feedPage.getPosts(), feedPage.getRankScores(), userId)));
+            }
+
+            log.info("Returning {} posts for page {}", feedResponse.getPosts().size(), feedResponse.getCurrentPage());
+            return feedResponse;
+        }
+    }
+
+    /**
+     * Top trending posts by engagement within the trending window, read from the in-memory index.
+     * rankScore carries the weighted engagement count (like 1, comment 2).
+     */
+    @Transactional(readOnly = true)
+    public FeedResponse getTrendingFeed(String userId, Integer limit, FeedView view) {
+        int size = limit != null && limit > 0 ? Math.min(limit, MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+
+        try (FeedTrace trace = feedMetrics.startRequest(userId, "trending")) {
+            TrendingIndex.Ranking ranking = trendingIndex.getRanking();
+            int count = Math.min(size, ranking.size());
+
+            List<Long> postIds = new ArrayList<>(count);
+            Map<Long, Double> rankScores = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                postIds.add(ranking.getPostId(i));
+                rankScores.put(ranking.getPostId(i), (double) ranking.getScore(i));
+            }
+
+            Map<Long, Post> postsById = new HashMap<>();
+            for (Post post : feedMetrics.time("post_load", () -> postRepository.findAllById(postIds))) {
+                postsById.put(post.getPostId(), post);
+            }
+            List<Post> posts = new ArrayList<>(count);
+            for (Long postId : postIds) {
+                Post post = postsById.get(postId);
+                if (post != null) {
+                    posts.add(post);
+                }
+            }
+
+            List<?> feedPosts = feedMetrics.time("hydrate", () -> view == FeedView.SUMMARY
+                    ? feedPageHydrator.hydrateSummaries(posts, rankScores, userId)
+                    : feedPageHydrator.hydrate(posts, rankScores, userId));
+
+            log.info("Returning {} trending posts for userId={}", feedPosts.size(), userId);
+
+            return FeedResponse.builder()
+                    .posts(feedPosts)
+                    .currentPage(0)
+                    .pageSize(size)
+                    .totalPosts(feedPosts.size())
+                    .totalPages(1)
+                    .hasMore(false)
+                    .build();
+        }
+    }
+
+    /**
+     * Rank a user's feed ahead of their next request and keep it in the ranked feed cache.
+     * Also fills the follow graph, ranking feature and seen-post caches the request would otherwise load.
+     * Nothing is marked as seen - the user has not been shown anything yet.
+     *
+     * @return false if a ranked feed was already cached for the user
+     */
+    @Transactional(readOnly = true)
+    public boolean pregenerateFeed(String userId) {
+        if (rankedFeedCache.get(userId) != null) {
+            return false;
+        }
+        try (FeedTrace trace = feedMetrics.startRequest(userId, "warmup")) {
+            generateFeed(userId, loadUserProfile(userId), 0, DEFAULT_PAGE_SIZE, null, false);
+            return true;
+        }
+    }
+
+    /**
+     * Rank (or reuse a ranking for) the requested page without hydrating it.
+     * Used directly by the streaming endpoint, which hydrates and writes posts incrementally.
+     */
+    @Transactional(readOnly = true)
+    public FeedPage planFeedPage(String userId, Integer page, Integer size, String cursor) {
+        return planFeedPage(userId, page, size, cursor, FeedMode.RANKED);
+    }
+
+    @Transactional(readOnly = true)
+    public FeedPage planFeedPage(String userId, Integer page, Integer size, String cursor, FeedMode mode) {
+        try (FeedTrace trace = feedMetrics.startRequest(userId, "plan")) {
+            feedMetrics.attribute("mode", mode);
+            FeedPage feedPage = mode == FeedMode.FOLLOWING
+                    ? planFollowingPage(userId, page, size, cursor)
+                    : planFeedPageInternal(userId, page, size, cursor);
+            feedMetrics.time("seen_mark", () -> seenPostStore.markSeen(userId, feedPage.getPosts()));
+            return feedPage;
+        }
+    }
+
+    private FeedPage planFeedPageInternal(String userId, Integer page, Integer size, String cursor) {
+        log.info("Generating personalized feed for userId={}, page={}, size={}, cursor={}",
+                userId, page, size, cursor != null);
 
         // Validate and set defaults
         int pageNumber = page != null && page >= 0 ? page : 0;
         int pageSize = size != null && size > 0 ? Math.min(size, MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
 
+        if (cursor != null && !cursor.isBlank()) {
+            return continueFeed(userId, FeedCursor.decode(cursor), pageSize);
+        }
+
+        int offset = pageNumber * pageSize;
+
+        // Pull-to-refresh: reuse the user's recently ranked feed if it reaches this page
+        FeedSnapshot cached = feedMetrics.time("ranked_cache_lookup", () -> rankedFeedCache.get(userId));
+        if (cached != null && (offset < cached.size() || cached.isComplete())) {
+            log.info("Serving feed page for userId={} from cached ranking {}", userId, cached.getSnapshotId());
+            feedMetrics.recordPath("cache");
+            return pageFromSnapshot(userId, cached, offset, pageSize, null);
+        }
+
+        return generateFeed(userId, loadUserProfile(userId), offset, pageSize, null, true);
+    }
+
+    /**
+     * One page of the following-only feed: a single keyset query over posts by followed users.
+     * Cost depends on the page size and the number of followed users, not on the size of the posts table.
+     */
+    private FeedPage planFollowingPage(String userId, Integer page, Integer size, String cursor) {
+        int pageSize = size != null && size > 0 ? Math.min(size, MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+        boolean hasCursor = cursor != null && !cursor.isBlank();
+        if (!hasCursor && page != null && page > 0) {
+            throw new BadRequestException("The following feed is paged by cursor, page must be 0");
+        }
+        feedMetrics.recordPath("following");
+
+        long[] followingIds = feedMetrics.time("follow_lookup", () -> followGraphCache.getFollowingIds(userId));
+        if (followingIds.length == 0) {
+            return new FeedPage(Collections.emptyList(), Collections.emptyMap(), FeedResponse.builder()
+                    .currentPage(0)
+                    .pageSize(pageSize)
+                    .hasMore(false)
+                    .build());
+        }
+
+        StringJoiner creatorIds = new StringJoiner(",", "{", "}");
+        for (long followingId : followingIds) {
+            creatorIds.add(Long.toString(followingId));
+        }
+
+        // One extra row tells whether there is a next page without counting
+        ChronologicalCursor after = hasCursor ? ChronologicalCursor.decode(cursor) : null;
+        List<Post> posts = feedMetrics.time("following_query", () -> after == null
+                ? postRepository.findLatestByCreatorIds(creatorIds.toString(), pageSize + 1)
+                : postRepository.findLatestByCreatorIdsBefore(creatorIds.toString(),
+                        after.getCreatedAt(), after.getPostId(), pageSize + 1));
+
+        boolean hasMore = posts.size() > pageSize;
+        List<Post> pagePosts = hasMore ? new ArrayList<>(posts.subList(0, pageSize)) : posts;
+        Post last = pagePosts.isEmpty() ? null : pagePosts.get(pagePosts.size() - 1);
+        String nextCursor = hasMore && last.getCreatedAt() != null
+                ? new ChronologicalCursor(last.getCreatedAt(), last.getPostId()).encode()
+                : null;
+
+        log.info("Following feed for userId={}: {} posts from {} followed users, hasMore={}",
+                userId, pagePosts.size(), followingIds.length, hasMore);
+
+        return new FeedPage(pagePosts, Collections.emptyMap(), FeedResponse.builder()
+                .currentPage(0)
+                .pageSize(pageSize)
+                .hasMore(nextCursor != null)
+                .nextCursor(nextCursor)
+                .build());
+    }
+
+    /**
+     * Serve the next page from the cursor's ranking snapshot, or re-rank from its keyset position
+     * if the snapshot has expired or does not reach that far
+     */
+    private FeedPage continueFeed(String userId, FeedCursor cursor, int pageSize) {
+        Optional<FeedSnapshot> snapshotOpt = feedMetrics.time("snapshot_lookup",
+                () -> feedSnapshotStore.find(cursor.getSnapshotId(), userId));
+
+        if (snapshotOpt.isPresent()) {
+            FeedSnapshot snapshot = snapshotOpt.get();
+            if (cursor.getOffset() < snapshot.size() || snapshot.isComplete()) {
+                log.info("Serving feed page for userId={} from snapshot {} at offset {}",
+                        userId, snapshot.getSnapshotId(), cursor.getOffset());
+                feedMetrics.recordPath("snapshot");
+                return pageFromSnapshot(userId, snapshot, cursor.getOffset(), pageSize, null);
+            }
+        }
+
+        log.info("Feed snapshot {} unavailable for userId={}, resuming after postId={}",
+                cursor.getSnapshotId(), userId, cursor.getLastPostId());
+        return generateFeed(userId, loadUserProfile(userId), 0, pageSize, cursor, true);
+    }
+
+    private UserProfile loadUserProfile(String userId) {
         // Get user profile (optional - if not found, use default preferences)
         log.info("Looking for user profile with userId={}", userId);
-        Optional<UserProfile> userProfileOpt = userProfileRepository.findActiveByUserId(userId);
+        Optional<UserProfile> userProfileOpt = feedMetrics.time("profile_lookup",
+                () -> userProfileRepository.findActiveByUserId(userId));
 
         if (userProfileOpt.isEmpty()) {
             log.warn("User profile not found or not active for userId={}, using default preferences", userId);
@@ -63,201 +293,197 @@ public class FeedService {
             userProfile.setUserId(userId);
             userProfile.setFavouriteActivities(new ArrayList<>());
             userProfile.setPreferredTripMoods(new ArrayList<>());
-
-            // Continue with feed generation using default profile
-            return generateFeed(userId, userProfile, pageNumber, pageSize);
+            return userProfile;
         }
 
         UserProfile userProfile = userProfileOpt.get();
         log.info("Found user profile for userId={}, displayName={}", userId, userProfile.getDisplayName());
-
-        return generateFeed(userId, userProfile, pageNumber, pageSize);
+        return userProfile;
     }
 
     /**
-     * Generate feed with ranking
+     * Rank the candidate set, store the head of the ranking as a snapshot and serve one page from it
+     *
+     * @param offset      position of the first post on the page within the new ranking
+     * @param after       when resuming from an expired cursor, only posts ranked after it are kept
+     * @param userRequest false for warm-up runs, which are kept out of the ranking model A/B request counts
      */
-    private FeedResponse generateFeed(String userId, UserProfile userProfile, int pageNumber, int pageSize) {
+    private FeedPage generateFeed(String userId, UserProfile userProfile, int offset, int pageSize,
+                                  FeedCursor after, boolean userRequest) {
+        feedMetrics.recordPath(after == null ? "ranked" : "keyset");
 
         // Get list of users the current user is following (accepted follows only)
-        Set<String> followingIds = followRepository
-                .findByFollowingIdAndStatus(userId, "accepted", PageRequest.of(0, 10000))
-                .getContent()
-                .stream()
-                .map(Follow::getFollowerId)
-                .collect(Collectors.toSet());
+        long[] followingIds = feedMetrics.time("follow_lookup", () -> followGraphCache.getFollowingIds(userId));
+
+        log.info("User {} is following {} users", userId, followingIds.length);
 
-        log.info("User {} is following {} users", userId, followingIds.size());
+        // Skip posts the user was already shown - only when ranking from the top, since a page number
+        // past the first refers to positions in a ranking that still contained the earlier pages
+        SeenPostFilter seenFilter = seenPostStore.isEnabled() && (offset == 0 || after != null)
+                ? feedMetrics.time("seen_lookup", () -> seenPostStore.filterFor(userId))
+                : null;
 
-        // Fetch all posts with content (optimized query)
-        List<Post> allPosts = postRepository.findAllPostsWithContent();
-        log.info("Fetched {} total posts from database", allPosts.size());
+        // Merge the bounded candidate sources instead of scoring the whole table
+        List<Post> allPosts = feedMetrics.time("candidates", () -> feedCandidateGenerator.generate(
+                new FeedCandidateQuery(userId, userProfile, followingIds, seenFilter)));
+        log.info("Fetched {} candidate posts for feed", allPosts.size());
+        feedMetrics.recordCandidates(allPosts.size());
 
         if (allPosts.isEmpty()) {
             log.warn("No posts found in database - returning empty feed");
-            return FeedResponse.builder()
-                    .posts(Collections.emptyList())
-                    .currentPage(pageNumber)
-                    .pageSize(pageSize)
-                    .totalPosts(0)
-                    .totalPages(0)
-                    .hasMore(false)
-                    .build();
+            return emptyFeed(offset / pageSize, pageSize, 0);
         }
 
-        // Calculate scores and rank posts
-        List<PostWithScore> rankedPosts = allPosts.stream()
-                .map(post -> {
-                    double score = feedRankingService.calculatePostScore(post, userProfile, followingIds);
-                    return new PostWithScore(post, score);
-                })
-                .sorted(Comparator.comparingDouble(PostWithScore::getScore).reversed())
-                .collect(Collectors.toList());
+        // Newer post IDs first, so equal scores rank in the same order the cursor keyset resumes in
+        allPosts.sort(Comparator.comparing(Post::getPostId).reversed());
+
+        // Calculate scores from cached ranking features into a primitive array
+        Map<Long, PostRankingFeatures> features = feedMetrics.time("features",
+                () -> rankingFeatureCache.getFeatures(allPosts));
+        FeedRankingService.UserPreferences preferences = feedRankingService.preferencesOf(userProfile);
+        RankingModel rankingModel = feedRankingService.selectModel(userId, userRequest);
+        feedMetrics.attribute("model", rankingModel.name());
+        PostRankingFeatures[] candidateFeatures = new PostRankingFeatures[allPosts.size()];
+        for (int i = 0; i < candidateFeatures.length; i++) {
+            candidateFeatures[i] = features.get(allPosts.get(i).getPostId());
+        }
+        double[] scores = feedMetrics.time("scoring", () -> feedScorer.score(candidateFeatures, preferences,
+                followingIds, RankingClock.systemNow(), rankingModel));
+
+        // Compact in place, dropping posts ranked at or before the cursor when resuming
+        List<Post> candidates = new ArrayList<>(allPosts.size());
+        for (int i = 0; i < scores.length; i++) {
+            Post post = allPosts.get(i);
+            if (after == null || after.isAfter(scores[i], post.getPostId())) {
+                scores[candidates.size()] = scores[i];
+                candidateFeatures[candidates.size()] = candidateFeatures[i];
+                candidates.add(post);
+            }
+        }
+        int totalPosts = candidates.size();
+
+        // Rank at least the snapshot depth so the following pages are served without re-scoring
+        int depth = Math.min(totalPosts, Math.max(offset + pageSize, snapshotDepth));
+        int[] selected = feedMetrics.time("selection", () -> TopKSelector.topK(scores, totalPosts, depth));
+
+        // Spread out runs of the same creator or destination; snapshot scores stay the model's.
+        // Posts only move within their page, so each page boundary is also a boundary in model order
+        int diversityBlockSize = diversityReranker.isEnabled() ? pageSize : 0;
+        int[] ranked = diversityBlockSize > 0
+                ? feedMetrics.time("diversity", () -> diversityReranker.rerank(selected, scores, candidateFeatures,
+                        diversityBlockSize))
+                : selected;
+        log.info("Selected top {} of {} scored posts", ranked.length, totalPosts);
+
+        long[] rankedPostIds = new long[ranked.length];
+        double[] rankedScores = new double[ranked.length];
+        Map<Long, Post> postsById = new HashMap<>(ranked.length * 2);
+        for (int i = 0; i < ranked.length; i++) {
+            Post post = candidates.get(ranked[i]);
+            rankedPostIds[i] = post.getPostId();
+            rankedScores[i] = scores[ranked[i]];
+            postsById.put(post.getPostId(), post);
+        }
 
-        log.info("Ranked {} posts by score", rankedPosts.size());
+        FeedSnapshot snapshot = feedSnapshotStore.save(userId, rankingModel.name(),
+                rankedPostIds, rankedScores, totalPosts, diversityBlockSize);
+        if (after == null) {
+            rankedFeedCache.put(userId, snapshot);
+        }
+        return pageFromSnapshot(userId, snapshot, offset, pageSize, postsById);
+    }
 
-        // Apply pagination
-        int totalPosts = rankedPosts.size();
-        int startIndex = pageNumber * pageSize;
-        int endIndex = Math.min(startIndex + pageSize, totalPosts);
+    /**
+     * Select one page of a ranking snapshot
+     *
+     * @param postsById posts already in memory, or null to load the page's posts by ID
+     */
+    private FeedPage pageFromSnapshot(String userId, FeedSnapshot snapshot, int offset, int pageSize,
+                                      Map<Long, Post> postsById) {
+        int totalPosts = snapshot.getTotalCandidates();
+        int currentPage = offset / pageSize;
+        int endIndex = Math.min(offset + pageSize, snapshot.size());
 
-        if (startIndex >= totalPosts) {
+        if (offset >= endIndex) {
             // Return empty feed if page is out of bounds
-            return FeedResponse.builder()
-                    .posts(Collections.emptyList())
-                    .currentPage(pageNumber)
-                    .pageSize(pageSize)
-                    .totalPosts(totalPosts)
-                    .totalPages((int) Math.ceil((double) totalPosts / pageSize))
-                    .hasMore(false)
-                    .build();
+            return emptyFeed(currentPage, pageSize, totalPosts);
         }
 
-        List<PostWithScore> pagedPosts = rankedPosts.subList(startIndex, endIndex);
+        if (postsById == null) {
+            List<Long> pagePostIds = new ArrayList<>(endIndex - offset);
+            for (int i = offset; i < endIndex; i++) {
+                pagePostIds.add(snapshot.getPostId(i));
+            }
+            postsById = new HashMap<>();
+            for (Post post : feedMetrics.time("post_load", () -> postRepository.findAllById(pagePostIds))) {
+                postsById.put(post.getPostId(), post);
+            }
+        }
 
-        // Convert to DTOs with user details
-        List<FeedPostDTO> feedPostDTOs = pagedPosts.stream()
-                .map(pws -> convertToFeedPostDTO(pws.getPost(), userId, pws.getScore()))
-                .collect(Collectors.toList());
+        List<Post> pagePosts = new ArrayList<>(endIndex - offset);
+        Map<Long, Double> rankScores = new HashMap<>();
+        for (int i = offset; i < endIndex; i++) {
+            Post post = postsById.get(snapshot.getPostId(i));
+            if (post == null) {
+                // Deleted since the snapshot was taken
+                continue;
+            }
+            pagePosts.add(post);
+            rankScores.put(post.getPostId(), snapshot.getScore(i));
+        }
 
         int totalPages = (int) Math.ceil((double) totalPosts / pageSize);
-        boolean hasMore = endIndex < totalPosts;
+        boolean hasMore = endIndex < snapshot.size() || !snapshot.isComplete();
+        String nextCursor = hasMore ? nextCursor(snapshot, endIndex) : null;
 
-        log.info("Returning {} posts for page {}", feedPostDTOs.size(), pageNumber);
-
-        return FeedResponse.builder()
-                .posts(feedPostDTOs)
-                .currentPage(pageNumber)
+        return new FeedPage(pagePosts, rankScores, FeedResponse.builder()
+                .currentPage(currentPage)
                 .pageSize(pageSize)
                 .totalPosts(totalPosts)
                 .totalPages(totalPages)
                 .hasMore(hasMore)
-                .build();
+                .nextCursor(nextCursor)
+                .rankingModel(snapshot.getRankingModel())
+                .build());
     }
 
     /**
-     * Convert Post entity to FeedPostDTO
+     * Cursor for the page ending at endIndex. Its keyset position is the lowest post in model order
+     * (score, then postId) among the posts served so far, which a diversified snapshot may not have
+     * at endIndex - 1, so a re-rank after the snapshot expires neither skips nor repeats posts.
      */
-    private FeedPostDTO convertToFeedPostDTO(Post post, String currentUserId, Double rankScore) {
-        // Get creator profile
-        Optional<UserProfile> creatorProfileOpt = userProfileRepository
-                .findActiveByUserId(String.valueOf(post.getCreatedById()));
-
-        String creatorName = "Unknown User";
-        String creatorProfileUrl = null;
-        if (creatorProfileOpt.isPresent()) {
-            UserProfile creatorProfile = creatorProfileOpt.get();
-            creatorName = creatorProfile.getDisplayName();
-            creatorProfileUrl = creatorProfile.getProfileImageUrl();
-        }
-
-        // Check if current user has liked this post
-        boolean isLikedByUser = false;
-        if (currentUserId != null) {
-            try {
-                Long currentUserIdLong = Long.valueOf(currentUserId);
-                isLikedByUser = likeRepository.existsByPostIdAndUserId(post.getPostId(), currentUserIdLong);
-            } catch (NumberFormatException e) {
-                log.warn("Invalid user ID format: {}", currentUserId);
-            }
+    private static String nextCursor(FeedSnapshot snapshot, int endIndex) {
+        int blockSize = snapshot.getDiversityBlockSize();
+        if (blockSize == 0) {
+            return new FeedCursor(snapshot.getSnapshotId(), endIndex,
+                    snapshot.getScore(endIndex - 1), snapshot.getPostId(endIndex - 1)).encode();
         }
 
-        FeedPostDTO.FeedPostDTOBuilder builder = FeedPostDTO.builder()
-                .postId(post.getPostId())
-                .createdById(post.getCreatedById())
-                .creatorName(creatorName)
-                .creatorProfileUrl(creatorProfileUrl)
-                .createdAt(post.getCreatedAt())
-                .likesCount(post.getLikesCount())
-                .commentsCount(post.getCommentsCount())
-                .isLikedByUser(isLikedByUser);
-
-        // Add rank score if provided
-        if (rankScore != null) {
-            builder.rankScore(rankScore);
+        // A page size other than the one the snapshot was diversified with can end mid-block; resume from
+        // the start of that block so its unserved posts are not skipped (its served ones may repeat)
+        int boundary = endIndex < snapshot.size() ? endIndex - endIndex % blockSize : endIndex;
+        if (boundary == 0) {
+            return new FeedCursor(snapshot.getSnapshotId(), endIndex, Double.POSITIVE_INFINITY, Long.MAX_VALUE).encode();
         }
 
-        // Add post content if available - fetch manually
-        PostContent postContent = postContentRepository.findById(post.getPostId()).orElse(null);
-        if (postContent != null) {
-            builder.journeyTitle(postContent.getJourneyTitle())
-                    .numberOfDays(postContent.getNumberOfDays())
-                    .placesVisited(postContent.getPlacesVisited())
-                    .budgetInfo(postContent.getBudgetInfo())
-                    .travelTips(postContent.getTravelTips())
-                    .transportationOptions(postContent.getTransportationOptions())
-                    .hotelRecommendations(postContent.getHotelRecommendations())
-                    .restaurantRecommendations(postContent.getRestaurantRecommendations());
-
-            // Convert place-wise content - fetch separately
-            List<PlaceWiseContent> placeWiseContentList = placeWiseContentRepository.findByPostId(post.getPostId());
-            if (placeWiseContentList != null && !placeWiseContentList.isEmpty()) {
-                List<FeedPostDTO.PlaceWiseContentDTO> placeWiseContentDTOs = placeWiseContentList.stream()
-                        .map(this::convertToPlaceWiseContentDTO)
-                        .collect(Collectors.toList());
-                builder.placeWiseContent(placeWiseContentDTOs);
+        int lowest = boundary - 1;
+        for (int i = boundary - 2; i >= Math.max(0, boundary - blockSize); i--) {
+            int cmp = Double.compare(snapshot.getScore(i), snapshot.getScore(lowest));
+            if (cmp < 0 || (cmp == 0 && snapshot.getPostId(i) < snapshot.getPostId(lowest))) {
+                lowest = i;
             }
         }
-
-        return builder.build();
-    }
-
-    /**
-     * Convert PlaceWiseContent entity to DTO
-     */
-    private FeedPostDTO.PlaceWiseContentDTO convertToPlaceWiseContentDTO(PlaceWiseContent pwc) {
-        return FeedPostDTO.PlaceWiseContentDTO.builder()
-                .placeWiseContentId(pwc.getPlaceWiseContentId())
-                .placeName(pwc.getPlaceName())
-                .latitude(pwc.getLatitude() != null ? pwc.getLatitude().doubleValue() : null)
-                .longitude(pwc.getLongitude() != null ? pwc.getLongitude().doubleValue() : null)
-                .address(pwc.getAddress())
-                .tripMood(pwc.getTripMood())
-                .activities(pwc.getActivities())
-                .experiences(pwc.getExperiences())
-                .imageUrls(pwc.getImageUrls())
-                .sequenceOrder(pwc.getSequenceOrder())
-                .build();
+        return new FeedCursor(snapshot.getSnapshotId(), endIndex,
+                snapshot.getScore(lowest), snapshot.getPostId(lowest)).encode();
     }
 
-    /**
-     * Helper class to hold post with its calculated score
-     */
-    private static class PostWithScore {
-        private final Post post;
-        private final double score;
-
-        public PostWithScore(Post post, double score) {
-            this.post = post;
-            this.score = score;
-        }
-
-        public Post getPost() {
-            return post;
-        }
-
-        public double getScore() {
-            return score;
-        }
+    private FeedPage emptyFeed(int currentPage, int pageSize, int totalPosts) {
+        return new FeedPage(Collections.emptyList(), Collections.emptyMap(), FeedResponse.builder()
+                .currentPage(currentPage)
+                .pageSize(pageSize)
+                .totalPosts(totalPosts)
+                .totalPages((int) Math.ceil((double) totalPosts / pageSize))
+                .hasMore(false)
+                .build());
     }
 }
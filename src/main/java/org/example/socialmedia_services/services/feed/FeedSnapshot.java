@@ -0,0 +1,85 @@
+package org.example.socialmedia_services.services.feed;
+
+/**
+ * Ranked post IDs and scores computed for one user at one point in time.
+ * Pages served from a snapshot stay stable even if engagement changes the live ranking.
+ */
+public class FeedSnapshot {
+
+    private final String snapshotId;
+    private final String userId;
+    private final String rankingModel;
+    private final long[] postIds;
+    private final double[] scores;
+    private final int totalCandidates;
+    private final int diversityBlockSize;
+    private final long createdAtMillis;
+
+    public FeedSnapshot(String snapshotId, String userId, String rankingModel, long[] postIds, double[] scores,
+                        int totalCandidates, int diversityBlockSize, long createdAtMillis) {
+        this.snapshotId = snapshotId;
+        this.userId = userId;
+        this.rankingModel = rankingModel;
+        this.postIds = postIds;
+        this.scores = scores;
+        this.totalCandidates = totalCandidates;
+        this.diversityBlockSize = diversityBlockSize;
+        this.createdAtMillis = createdAtMillis;
+    }
+
+    public String getSnapshotId() {
+        return snapshotId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    /**
+     * Name of the ranking model that produced this snapshot
+     */
+    public String getRankingModel() {
+        return rankingModel;
+    }
+
+    public long getPostId(int index) {
+        return postIds[index];
+    }
+
+    public double getScore(int index) {
+        return scores[index];
+    }
+
+    /**
+     * Number of ranked posts held in the snapshot
+     */
+    public int size() {
+        return postIds.length;
+    }
+
+    /**
+     * Number of candidates that were scored; larger than size() when only the head was kept
+     */
+    public int getTotalCandidates() {
+        return totalCandidates;
+    }
+
+    /**
+     * True if every scored candidate is in the snapshot, so reaching its end means the feed is exhausted
+     */
+    public boolean isComplete() {
+        return postIds.length >= totalCandidates;
+    }
+
+    /**
+     * Block size the diversity re-rank was confined to, or 0 if the snapshot is in model order.
+     * Only at multiples of it (and at the end) are the posts before a position the model's top posts.
+     */
+    public int getDiversityBlockSize() {
+        return diversityBlockSize;
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+}
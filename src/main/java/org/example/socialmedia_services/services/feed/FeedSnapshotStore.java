@@ -0,0 +1,60 @@
+package org.example.socialmedia_services.services.feed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.socialmedia_services.cache.LruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Short-lived ranking snapshots referenced by feed cursors.
+ * Bounded by entry count (LRU) and expired after a TTL; a missing snapshot is not an error,
+ * the feed falls back to re-ranking from the cursor's keyset position.
+ */
+@Component
+@Slf4j
+public class FeedSnapshotStore {
+
+    private final LruCache<String, FeedSnapshot> cache;
+    private final long ttlMillis;
+
+    public FeedSnapshotStore(@Value("${app.feed.snapshot-cache-size:10000}") int maxEntries,
+                             @Value("${app.feed.snapshot-ttl-seconds:600}") long ttlSeconds) {
+        this.cache = new LruCache<>(maxEntries);
+        this.ttlMillis = ttlSeconds * 1000L;
+    }
+
+    public FeedSnapshot save(String userId, String rankingModel, long[] postIds, double[] scores, int totalCandidates,
+                             int diversityBlockSize) {
+        String snapshotId = UUID.randomUUID().toString().replace("-", "");
+        FeedSnapshot snapshot = new FeedSnapshot(snapshotId, userId, rankingModel, postIds, scores,
+                totalCandidates, diversityBlockSize, System.currentTimeMillis());
+        cache.put(snapshotId, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Find a live snapshot; snapshots belonging to another user are treated as missing
+     */
+    public Optional<FeedSnapshot> find(String snapshotId, String userId) {
+        FeedSnapshot snapshot = cache.get(snapshotId);
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        if (System.currentTimeMillis() - snapshot.getCreatedAtMillis() > ttlMillis) {
+            cache.remove(snapshotId);
+            return Optional.empty();
+        }
+        if (!snapshot.getUserId().equals(userId)) {
+            log.warn("Feed snapshot {} requested by userId={} belongs to another user", snapshotId, userId);
+            return Optional.empty();
+        }
+        return Optional.of(snapshot);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+}
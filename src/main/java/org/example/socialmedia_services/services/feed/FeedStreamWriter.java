@@ -0,0 +1,88 @@
+package org.example.socialmedia_services.services.feed;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.socialmedia_services.entity.post.Post;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a feed page as JSON straight to the response stream.
+ * Produces the same envelope as GET /feed ({success, message, data}), but hydrates the posts in small
+ * chunks and writes each chunk before loading the next, so heap per request is bounded by one chunk
+ * of FeedPostDTOs instead of the whole page.
+ * Planning is timed by FeedService as the "plan" operation; the write, which runs later on the async
+ * response thread, is timed as its own "stream_write" operation with a "hydrate" stage per chunk.
+ */
+@Component
+@Slf4j
+public class FeedStreamWriter {
+
+    private static final TypeReference<LinkedHashMap<String, Object>> FIELDS = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+    private final FeedPageHydrator feedPageHydrator;
+    private final FeedMetrics feedMetrics;
+    private final int chunkSize;
+
+    public FeedStreamWriter(ObjectMapper objectMapper, FeedPageHydrator feedPageHydrator, FeedMetrics feedMetrics,
+                            @Value("${app.feed.stream.chunk-size:10}") int chunkSize) {
+        this.objectMapper = objectMapper;
+        this.feedPageHydrator = feedPageHydrator;
+        this.feedMetrics = feedMetrics;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public void write(FeedPage feedPage, String userId, FeedView view, OutputStream out) throws IOException {
+        try (FeedTrace trace = feedMetrics.startRequest(userId, "stream_write");
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            feedMetrics.attribute("view", view);
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeStringField("message", "Personalized feed retrieved successfully");
+            generator.writeFieldName("data");
+            generator.writeStartObject();
+
+            // Paging fields first, so clients can act on them before the posts arrive
+            Map<String, Object> header = objectMapper.convertValue(feedPage.getHeader(), FIELDS);
+            header.remove("posts");
+            for (Map.Entry<String, Object> field : header.entrySet()) {
+                generator.writeObjectField(field.getKey(), field.getValue());
+            }
+
+            generator.writeArrayFieldStart("posts");
+            List<Post> posts = feedPage.getPosts();
+            int written = 0;
+            for (int from = 0; from < posts.size(); from += chunkSize) {
+                List<Post> chunk = posts.subList(from, Math.min(from + chunkSize, posts.size()));
+                List<?> dtos = feedMetrics.time("hydrate", () -> view == FeedView.SUMMARY
+                        ? feedPageHydrator.hydrateSummaries(chunk, feedPage.getRankScores(), userId)
+                        : feedPageHydrator.hydrate(chunk, feedPage.getRankScores(), userId));
+                for (Object dto : dtos) {
+                    generator.writeObject(dto);
+                    written++;
+                }
+                generator.flush();
+            }
+            generator.writeEndArray();
+
+            generator.writeEndObject();
+            generator.writeEndObject();
+            feedMetrics.attribute("posts", written);
+            log.info("Streamed {} posts for userId={}", written, userId);
+        } catch (IOException | RuntimeException e) {
+            // Headers are already committed; aborting leaves the client with truncated JSON it can detect
+            log.error("Error streaming feed for userId={}: {}", userId, e.getMessage(), e);
+            throw e;
+        }
+    }
+}
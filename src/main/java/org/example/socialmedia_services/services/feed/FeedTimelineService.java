@@ -0,0 +1,130 @@
+package org.example.socialmedia_services.services.feed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.socialmedia_services.entity.follow.UserStats;
+import org.example.socialmedia_services.entity.post.Post;
+import org.example.socialmedia_services.event.PostCreatedEvent;
+import org.example.socialmedia_services.repository.feed.FeedTimelineRepository;
+import org.example.socialmedia_services.repository.follow.UserStatsRepository;
+import org.example.socialmedia_services.repository.post.PostRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Materialized per-user timeline.
+ * New posts are pushed into each accepted follower's timeline after the post commits (fan-out-on-write).
+ * Creators with very many followers are skipped on write and their posts are pulled at read time
+ * instead (fan-out-on-read), so a single tripfluencer post never turns into a write storm.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FeedTimelineService {
+
+    private final FeedTimelineRepository feedTimelineRepository;
+    private final PostRepository postRepository;
+    private final UserStatsRepository userStatsRepository;
+
+    @Value("${app.feed.timeline-window:500}")
+    private int timelineWindow;
+
+    @Value("${app.feed.fanout-max-followers:5000}")
+    private int fanoutMaxFollowers;
+
+    /**
+     * Fan out a newly created post to the creator's followers once the post has committed
+     */
+    @TransactionalEventListener
+    public void onPostCreated(PostCreatedEvent event) {
+        Post post = event.getPost();
+        String creatorUserId = String.valueOf(post.getCreatedById());
+
+        try {
+            int followersCount = userStatsRepository.findById(creatorUserId)
+                    .map(UserStats::getFollowersCount)
+                    .orElse(0);
+
+            if (followersCount > fanoutMaxFollowers) {
+                log.info("Skipping timeline fan-out for postId={}, creator {} has {} followers (served on read)",
+                        post.getPostId(), creatorUserId, followersCount);
+                return;
+            }
+
+            int inserted = feedTimelineRepository.fanOutToFollowers(
+                    post.getPostId(), post.getCreatedById(), creatorUserId, post.getCreatedAt());
+            log.info("Fanned out postId={} to {} follower timelines", post.getPostId(), inserted);
+        } catch (Exception e) {
+            // The post is already committed - a failed fan-out only delays it until discovery picks it up
+            log.error("Failed to fan out postId={} to follower timelines: {}", post.getPostId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Load posts from the people a user follows, newest first, capped at the given limit:
+     * the precomputed timeline window plus recent posts from followed high-fanout creators.
+     */
+    public List<Post> loadFollowedPosts(String userId, long[] followingIds, int limit) {
+        Map<Long, Post> posts = new LinkedHashMap<>();
+
+        // 1. Precomputed timeline (fan-out-on-write)
+        List<Long> timelinePostIds = feedTimelineRepository.findRecentPostIds(userId,
+                PageRequest.of(0, Math.min(limit, timelineWindow)));
+        if (!timelinePostIds.isEmpty()) {
+            postRepository.findAllById(timelinePostIds)
+                    .forEach(post -> posts.put(post.getPostId(), post));
+        }
+
+        // 2. High-fanout creators the user follows (fan-out-on-read)
+        List<Long> highFanoutCreatorIds = findHighFanoutCreatorIds(followingIds);
+        if (!highFanoutCreatorIds.isEmpty()) {
+            postRepository.findRecentByCreatorIds(highFanoutCreatorIds, PageRequest.of(0, limit))
+                    .forEach(post -> posts.putIfAbsent(post.getPostId(), post));
+        }
+
+        log.debug("Loaded {} followed posts for userId={} (timeline={}, high-fanout creators={})",
+                posts.size(), userId, timelinePostIds.size(), highFanoutCreatorIds.size());
+
+        if (posts.size() <= limit) {
+            return new ArrayList<>(posts.values());
+        }
+        List<Post> merged = new ArrayList<>(posts.values());
+        merged.sort(Comparator.comparing(Post::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+        return new ArrayList<>(merged.subList(0, limit));
+    }
+
+    /**
+     * Remove timeline entries older than the given cutoff
+     */
+    @Transactional
+    public int purgeOlderThan(LocalDateTime cutoff) {
+        return feedTimelineRepository.deleteOlderThan(cutoff);
+    }
+
+    private List<Long> findHighFanoutCreatorIds(long[] followingIds) {
+        if (followingIds.length == 0) {
+            return Collections.emptyList();
+        }
+
+        List<String> followingUserIds = new ArrayList<>(followingIds.length);
+        for (long followingId : followingIds) {
+            followingUserIds.add(String.valueOf(followingId));
+        }
+
+        List<Long> creatorIds = new ArrayList<>();
+        for (String userId : userStatsRepository.findUserIdsWithFollowersAbove(followingUserIds, fanoutMaxFollowers)) {
+            try {
+                creatorIds.add(Long.valueOf(userId));
+            } catch (NumberFormatException e) {
+                log.warn("Invalid user ID format: {}", userId);
+            }
+        }
+        return creatorIds;
+    }
+}
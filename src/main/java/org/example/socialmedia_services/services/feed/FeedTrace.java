@@ -0,0 +1,89 @@
+package org.example.socialmedia_services.services.feed;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-request stage breakdown for one feed request, bound to the request thread by FeedMetrics.
+ * Closing the trace that started the request records the total and, if sampled, keeps the breakdown
+ * for the feedtraces actuator endpoint. Nested starts return a handle whose close() does nothing.
+ */
+public class FeedTrace implements AutoCloseable {
+
+    private final FeedMetrics owner;
+    private final long id;
+    private final String userId;
+    private final String operation;
+    private final boolean sampled;
+    private final long startedAtMillis;
+    private final long startNanos;
+    private final Map<String, Long> stageNanos = new LinkedHashMap<>();
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+    private long totalNanos;
+
+    FeedTrace(FeedMetrics owner, long id, String userId, String operation, boolean sampled) {
+        this.owner = owner;
+        this.id = id;
+        this.userId = userId;
+        this.operation = operation;
+        this.sampled = sampled;
+        this.startedAtMillis = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    void addStage(String stage, long nanos) {
+        if (sampled) {
+            // Repeated stages (e.g. hydration chunks) accumulate
+            stageNanos.merge(stage, nanos, Long::sum);
+        }
+    }
+
+    void setAttribute(String key, Object value) {
+        if (sampled) {
+            attributes.put(key, value);
+        }
+    }
+
+    long finish() {
+        totalNanos = System.nanoTime() - startNanos;
+        return totalNanos;
+    }
+
+    @Override
+    public void close() {
+        if (owner != null) {
+            owner.finish(this);
+        }
+    }
+
+    /**
+     * JSON-friendly view of a finished trace, durations in milliseconds
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> stages = new LinkedHashMap<>();
+        stageNanos.forEach((stage, nanos) -> stages.put(stage, nanos / 1_000_000.0));
+
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("id", id);
+        view.put("operation", operation);
+        view.put("userId", userId);
+        view.put("startedAt", Instant.ofEpochMilli(startedAtMillis).toString());
+        view.put("totalMs", totalNanos / 1_000_000.0);
+        view.put("stagesMs", stages);
+        view.put("attributes", attributes);
+        return view;
+    }
+
+    static FeedTrace nested() {
+        return new FeedTrace(null, -1, null, null, false);
+    }
+}
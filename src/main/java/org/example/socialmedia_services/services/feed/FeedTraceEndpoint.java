@@ -0,0 +1,28 @@
+package org.example.socialmedia_services.services.feed;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GET /actuator/feedtraces - per-stage breakdown of recently sampled feed requests
+ */
+@Component
+@Endpoint(id = "feedtraces")
+@RequiredArgsConstructor
+public class FeedTraceEndpoint {
+
+    private final FeedMetrics feedMetrics;
+
+    @ReadOperation
+    public Map<String, Object> traces() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("sampleRate", feedMetrics.getSampleRate());
+        response.put("traces", feedMetrics.recentTraces());
+        return response;
+    }
+}
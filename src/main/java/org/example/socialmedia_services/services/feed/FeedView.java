@@ -0,0 +1,23 @@
+package org.example.socialmedia_services.services.feed;
+
+import org.example.socialmedia_services.exception.BadRequestException;
+
+/**
+ * How much of each post a feed response carries.
+ * FULL is every content field and place; SUMMARY is a card (title, cover image, creator, counts).
+ */
+public enum FeedView {
+    FULL,
+    SUMMARY;
+
+    public static FeedView from(String value) {
+        if (value == null || value.isBlank()) {
+            return FULL;
+        }
+        try {
+            return FeedView.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid feed view '" + value + "', expected full or summary");
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package org.example.socialmedia_services.services.feed;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.socialmedia_services.repository.feed.UserSeenPostsRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pre-generates ranked feeds for recently active users (those served a feed page within
+ * app.feed.warmup.active-hours, from user_seen_posts), so the first request after a deploy or
+ * cache expiry does not pay the full ranking cost.
+ *
+ * Activity is read from user_seen_posts, which is only written while seen-post suppression
+ * (app.feed.seen.enabled) is on; with it off there are no active users to warm, so warm-up is
+ * switched off at startup with a warning rather than running empty.
+ *
+ * A run is driven by one coordinator thread that paces submissions to a fixed rate and pauses
+ * while requests are waiting for a Hikari connection; a small worker pool does the ranking.
+ * Only one run is active at a time.
+ *
+ * Metrics:
+ * feed.warmup.users    - users processed, tagged result=warmed|cached|failed
+ * feed.warmup.run      - duration of a full run
+ * feed.warmup.progress - share of the current run's users processed (1 when idle)
+ * feed.warmup.pending  - users of the current run not yet processed
+ * feed.warmup.lag      - seconds since the last run finished
+ */
+@Service
+@Slf4j
+public class FeedWarmupService {
+
+    private static final long POOL_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long MAX_POOL_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final FeedService feedService;
+    private final UserSeenPostsRepository userSeenPostsRepository;
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final int activeHours;
+    private final int maxUsers;
+    private final long permitIntervalNanos;
+    private final int threads;
+    private final Semaphore inFlight;
+    private final ExecutorService coordinator;
+    private final ExecutorService workers;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger runTotal = new AtomicInteger();
+    private final AtomicInteger runDone = new AtomicInteger();
+    private volatile long lastCompletedMillis = System.currentTimeMillis();
+
+    private final Counter warmedCounter;
+    private final Counter cachedCounter;
+    private final Counter failedCounter;
+    private final Timer runTimer;
+
+    public FeedWarmupService(FeedService feedService,
+                             UserSeenPostsRepository userSeenPostsRepository,
+                             SeenPostStore seenPostStore,
+                             DataSource dataSource,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.feed.warmup.enabled:true}") boolean enabled,
+                             @Value("${app.feed.warmup.active-hours:24}") int activeHours,
+                             @Value("${app.feed.warmup.max-users:5000}") int maxUsers,
+                             @Value("${app.feed.warmup.threads:2}") int threads,
+                             @Value("${app.feed.warmup.rate-per-second:20}") double ratePerSecond) {
+        if (threads <= 0 || ratePerSecond <= 0) {
+            throw new IllegalArgumentException("app.feed.warmup.threads and rate-per-second must be positive");
+        }
+        this.feedService = feedService;
+        this.userSeenPostsRepository = userSeenPostsRepository;
+        this.dataSource = dataSource;
+        if (enabled && !seenPostStore.isEnabled()) {
+            log.warn("Feed warm-up disabled: it finds active users in user_seen_posts, which is not written "
+                    + "while app.feed.seen.enabled=false");
+        }
+        this.enabled = enabled && seenPostStore.isEnabled();
+        this.activeHours = activeHours;
+        this.maxUsers = maxUsers;
+        this.permitIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        this.threads = threads;
+        this.inFlight = new Semaphore(threads);
+        this.coordinator = Executors.newSingleThreadExecutor(runnable -> daemonThread(runnable, "feed-warmup"));
+        AtomicInteger workerCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads,
+                runnable -> daemonThread(runnable, "feed-warmup-worker-" + workerCount.incrementAndGet()));
+
+        this.warmedCounter = usersCounter(meterRegistry, "warmed");
+        this.cachedCounter = usersCounter(meterRegistry, "cached");
+        this.failedCounter = usersCounter(meterRegistry, "failed");
+        this.runTimer = Timer.builder("feed.warmup.run")
+                .description("Duration of a feed warm-up run")
+                .register(meterRegistry);
+        Gauge.builder("feed.warmup.progress", this, FeedWarmupService::progress)
+                .description("Share of the current warm-up run's users processed")
+                .register(meterRegistry);
+        Gauge.builder("feed.warmup.pending", this, service -> service.runTotal.get() - service.runDone.get())
+                .description("Users of the current warm-up run not yet processed")
+                .register(meterRegistry);
+        Gauge.builder("feed.warmup.lag", this,
+                        service -> (System.currentTimeMillis() - service.lastCompletedMillis) / 1000.0)
+                .description("Seconds since the last feed warm-up run finished")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start a warm-up run in the background unless one is already running
+     *
+     * @return false if warm-up is disabled or a run is in progress
+     */
+    public boolean startWarmup(String trigger) {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            coordinator.execute(() -> {
+                try {
+                    runTimer.record(() -> warmUp(trigger));
+                } catch (Exception e) {
+                    log.error("Feed warm-up ({}) failed: {}", trigger, e.getMessage(), e);
+                } finally {
+                    running.set(false);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            return false;
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void warmUp(String trigger) {
+        LocalDateTime since = LocalDateTime.now().minusHours(activeHours);
+        List<String> userIds = userSeenPostsRepository.findUserIdsActiveSince(since, PageRequest.of(0, maxUsers));
+        runDone.set(0);
+        runTotal.set(userIds.size());
+        log.info("Feed warm-up ({}) started for {} users active in the last {} hours", trigger, userIds.size(), activeHours);
+
+        long nextPermit = System.nanoTime();
+        try {
+            for (String userId : userIds) {
+                // Rate limit: at most one submission per permit interval
+                long wait = nextPermit - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                nextPermit = Math.max(nextPermit, System.nanoTime()) + permitIntervalNanos;
+
+                awaitConnectionPool();
+                inFlight.acquire();
+                workers.execute(() -> {
+                    try {
+                        warmUser(userId);
+                    } finally {
+                        runDone.incrementAndGet();
+                        inFlight.release();
+                    }
+                });
+            }
+            // Wait for the last workers so the run's duration and lag are accurate
+            inFlight.acquire(threads);
+            inFlight.release(threads);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Feed warm-up ({}) interrupted after {} of {} users", trigger, runDone.get(), userIds.size());
+            return;
+        } catch (RejectedExecutionException e) {
+            log.info("Feed warm-up ({}) stopped, executor shut down", trigger);
+            return;
+        }
+
+        lastCompletedMillis = System.currentTimeMillis();
+        log.info("Feed warm-up ({}) finished for {} users", trigger, userIds.size());
+    }
+
+    private void warmUser(String userId) {
+        try {
+            if (feedService.pregenerateFeed(userId)) {
+                warmedCounter.increment();
+            } else {
+                cachedCounter.increment();
+            }
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.warn("Feed warm-up failed for userId={}: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * Back off while user requests are queued for a database connection, up to a bounded wait
+     */
+    private void awaitConnectionPool() throws InterruptedException {
+        HikariPoolMXBean pool = hikariPool();
+        if (pool == null) {
+            return;
+        }
+        long waited = 0;
+        while (pool.getThreadsAwaitingConnection() > 0 && waited < MAX_POOL_BACKOFF_NANOS) {
+            TimeUnit.NANOSECONDS.sleep(POOL_BACKOFF_NANOS);
+            waited += POOL_BACKOFF_NANOS;
+        }
+    }
+
+    private HikariPoolMXBean hikariPool() {
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari.getHikariPoolMXBean();
+        }
+        return null;
+    }
+
+    private double progress() {
+        int total = runTotal.get();
+        return total == 0 ? 1.0 : (double) runDone.get() / total;
+    }
+
+    private static Counter usersCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("feed.warmup.users")
+                .description("Users processed by feed warm-up")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Thread daemonThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
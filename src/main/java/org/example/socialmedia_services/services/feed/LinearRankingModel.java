@@ -0,0 +1,193 @@
+package org.example.socialmedia_services.services.feed;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Weighted sum of follower boost, recency, engagement and activity / trip mood match.
+ * Weights are read from config (app.feed.ranking.model.&lt;name&gt;.*); any weight that is not set
+ * keeps its default, so an empty config reproduces the original hard-coded ranking.
+ */
+public class LinearRankingModel implements RankingModel {
+
+    // Default weights - tuned for optimal feed experience
+    public static final double DEFAULT_FOLLOWER_WEIGHT = 3.0;
+    public static final double DEFAULT_RECENCY_WEIGHT = 2.5;
+    public static final double DEFAULT_ENGAGEMENT_WEIGHT = 2.0;
+    public static final double DEFAULT_ACTIVITY_MATCH_WEIGHT = 1.5;
+    public static final double DEFAULT_MOOD_MATCH_WEIGHT = 1.5;
+    public static final double DEFAULT_LIKE_SCORE = 1.0;
+    public static final double DEFAULT_COMMENT_SCORE = 2.0;
+    public static final double DEFAULT_RECENCY_DECAY_DAYS = 7.0;
+
+    // Weighted recency score per whole hour of post age; older posts use the last (near-zero) bucket
+    private static final int RECENCY_TABLE_HOURS = 90 * 24;
+
+    private final String name;
+    private final double followerWeight;
+    private final double engagementWeight;
+    private final double activityMatchWeight;
+    private final double moodMatchWeight;
+    private final double likeScore;
+    private final double commentScore;
+    private final double[] recencyScoreByHour;
+
+    public LinearRankingModel(String name, double followerWeight, double recencyWeight, double engagementWeight,
+                              double activityMatchWeight, double moodMatchWeight,
+                              double likeScore, double commentScore, double recencyDecayDays) {
+        if (recencyDecayDays <= 0) {
+            throw new IllegalArgumentException("recency-decay-days must be positive for model " + name);
+        }
+        this.name = name;
+        this.followerWeight = followerWeight;
+        this.engagementWeight = engagementWeight;
+        this.activityMatchWeight = activityMatchWeight;
+        this.moodMatchWeight = moodMatchWeight;
+        this.likeScore = likeScore;
+        this.commentScore = commentScore;
+        this.recencyScoreByHour = buildRecencyTable(recencyWeight, recencyDecayDays);
+    }
+
+    public static LinearRankingModel withDefaults(String name) {
+        return fromConfig(name, key -> null);
+    }
+
+    /**
+     * Build a model from "&lt;key&gt;" lookups relative to the model's config prefix, e.g. "follower-weight"
+     */
+    public static LinearRankingModel fromConfig(String name, Function<String, String> config) {
+        return new LinearRankingModel(name,
+                weight(config, "follower-weight", DEFAULT_FOLLOWER_WEIGHT),
+                weight(config, "recency-weight", DEFAULT_RECENCY_WEIGHT),
+                weight(config, "engagement-weight", DEFAULT_ENGAGEMENT_WEIGHT),
+                weight(config, "activity-match-weight", DEFAULT_ACTIVITY_MATCH_WEIGHT),
+                weight(config, "mood-match-weight", DEFAULT_MOOD_MATCH_WEIGHT),
+                weight(config, "like-score", DEFAULT_LIKE_SCORE),
+                weight(config, "comment-score", DEFAULT_COMMENT_SCORE),
+                weight(config, "recency-decay-days", DEFAULT_RECENCY_DECAY_DAYS));
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Calculate ranking score for a post based on multiple factors
+     */
+    @Override
+    public double score(PostRankingFeatures post, FeedRankingService.UserPreferences preferences,
+                        long[] followingIds, RankingClock clock) {
+        double score = 0.0;
+
+        // 1. Follower Boost - higher if post is from someone the user follows
+        score += calculateFollowerBoost(post, followingIds);
+
+        // 2. Recency Score - more recent posts score higher
+        score += calculateRecencyScore(post, clock);
+
+        // 3. Engagement Score - likes and comments
+        score += calculateEngagementScore(post);
+
+        // 4. Activity Matching - match user's favorite activities with post activities
+        score += calculateActivityMatchScore(post, preferences);
+
+        // 5. Trip Mood Matching - match user's preferred moods with post moods
+        score += calculateMoodMatchScore(post, preferences);
+
+        return score;
+    }
+
+    /**
+     * Boost score if post is from a followed user (followingIds is sorted)
+     */
+    private double calculateFollowerBoost(PostRankingFeatures post, long[] followingIds) {
+        if (Arrays.binarySearch(followingIds, post.getCreatorId()) >= 0) {
+            return followerWeight * 10.0; // Significant boost for followed users
+        }
+        return 0.0;
+    }
+
+    /**
+     * Calculate recency score with time decay
+     * Recent posts get higher scores, with exponential decay over time (looked up by hour of age)
+     */
+    private double calculateRecencyScore(PostRankingFeatures post, RankingClock clock) {
+        int hoursSincePost = clock.hoursSince(post.getCreatedAtEpochSeconds());
+        return recencyScoreByHour[Math.min(hoursSincePost, RECENCY_TABLE_HOURS)];
+    }
+
+    /**
+     * Calculate engagement score based on likes and comments
+     */
+    private double calculateEngagementScore(PostRankingFeatures post) {
+        double engagementScore = (post.getLikesCount() * likeScore) + (post.getCommentsCount() * commentScore);
+
+        // Apply logarithmic scaling to prevent viral posts from dominating
+        if (engagementScore > 0) {
+            engagementScore = Math.log1p(engagementScore) * 3.0;
+        }
+
+        return engagementWeight * engagementScore;
+    }
+
+    /**
+     * Calculate activity matching score
+     * Share of the user's favorite activities that appear in the post (bitmask popcount)
+     */
+    private double calculateActivityMatchScore(PostRankingFeatures post, FeedRankingService.UserPreferences preferences) {
+        if (preferences.getActivityCount() == 0 || !post.hasContent()) {
+            return 0.0;
+        }
+
+        int matchCount = TermDictionary.intersectionCount(preferences.getActivityMask(), post.getActivityMask());
+        if (matchCount == 0) {
+            return 0.0;
+        }
+
+        double matchScore = (double) matchCount / preferences.getActivityCount() * 10.0;
+        return activityMatchWeight * matchScore;
+    }
+
+    /**
+     * Calculate trip mood matching score
+     * Share of the user's preferred trip moods that appear in the post (bitmask popcount)
+     */
+    private double calculateMoodMatchScore(PostRankingFeatures post, FeedRankingService.UserPreferences preferences) {
+        if (preferences.getMoodCount() == 0 || !post.hasContent()) {
+            return 0.0;
+        }
+
+        int matchCount = TermDictionary.intersectionCount(preferences.getMoodMask(), post.getMoodMask());
+        if (matchCount == 0) {
+            return 0.0;
+        }
+
+        double matchScore = (double) matchCount / preferences.getMoodCount() * 10.0;
+        return moodMatchWeight * matchScore;
+    }
+
+    private static double[] buildRecencyTable(double recencyWeight, double recencyDecayDays) {
+        double[] table = new double[RECENCY_TABLE_HOURS + 1];
+        for (int hours = 0; hours <= RECENCY_TABLE_HOURS; hours++) {
+            double daysSincePost = hours / 24.0;
+
+            // Exponential decay: score decreases as post gets older
+            double recencyScore = Math.exp(-daysSincePost / recencyDecayDays) * 10.0;
+            table[hours] = recencyWeight * recencyScore;
+        }
+        return table;
+    }
+
+    private static double weight(Function<String, String> config, String key, double defaultValue) {
+        String value = config.apply(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value '" + value + "' for ranking weight " + key, e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.socialmedia_services.services.feed;
+
+/**
+ * Everything FeedRankingService needs to score one post, so scoring never touches the database.
+ * Activities and moods are stored as bitmasks over the shared PreferenceVocabulary;
+ * engagement counters are kept current by like/comment events. createdAt is kept as epoch seconds.
+ * The destination is the post's first place, reduced to a key only used for diversity comparisons.
+ */
+public class PostRankingFeatures {
+
+    private final Long postId;
+    private final Long creatorId;
+    private final String creatorUserId;
+    private final long createdAtEpochSeconds;
+    private final boolean hasContent;
+    private final long[] activityMask;
+    private final long[] moodMask;
+    private final int destinationKey;
+
+    private volatile int likesCount;
+    private volatile int commentsCount;
+
+    public PostRankingFeatures(Long postId, Long creatorId, long createdAtEpochSeconds, boolean hasContent,
+                               long[] activityMask, long[] moodMask, int destinationKey,
+                               int likesCount, int commentsCount) {
+        this.postId = postId;
+        this.creatorId = creatorId;
+        this.creatorUserId = String.valueOf(creatorId);
+        this.createdAtEpochSeconds = createdAtEpochSeconds;
+        this.hasContent = hasContent;
+        this.activityMask = activityMask;
+        this.moodMask = moodMask;
+        this.destinationKey = destinationKey;
+        this.likesCount = likesCount;
+        this.commentsCount = commentsCount;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public Long getCreatorId() {
+        return creatorId;
+    }
+
+    public String getCreatorUserId() {
+        return creatorUserId;
+    }
+
+    public long getCreatedAtEpochSeconds() {
+        return createdAtEpochSeconds;
+    }
+
+    public boolean hasContent() {
+        return hasContent;
+    }
+
+    public long[] getActivityMask() {
+        return activityMask;
+    }
+
+    public long[] getMoodMask() {
+        return moodMask;
+    }
+
+    /**
+     * Key of the post's first place name, 0 if the post has no places
+     */
+    public int getDestinationKey() {
+        return destinationKey;
+    }
+
+    public int getLikesCount() {
+        return likesCount;
+    }
+
+    public int getCommentsCount() {
+        return commentsCount;
+    }
+
+    public synchronized void addEngagement(int likesDelta, int commentsDelta) {
+        this.likesCount = Math.max(0, this.likesCount + likesDelta);
+        this.commentsCount = Math.max(0, this.commentsCount + commentsDelta);
+    }
+}
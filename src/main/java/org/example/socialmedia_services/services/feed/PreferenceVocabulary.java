@@ -0,0 +1,28 @@
+package org.example.socialmedia_services.services.feed;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shared activity and trip-mood dictionaries used to encode posts and users for feed ranking.
+ * Both sides must be encoded with the same dictionary for their bits to line up.
+ */
+@Component
+public class PreferenceVocabulary {
+
+    private final TermDictionary activities;
+    private final TermDictionary moods;
+
+    public PreferenceVocabulary(@Value("${app.feed.vocabulary-max-terms:4096}") int maxTerms) {
+        this.activities = new TermDictionary(maxTerms);
+        this.moods = new TermDictionary(maxTerms);
+    }
+
+    public TermDictionary activities() {
+        return activities;
+    }
+
+    public TermDictionary moods() {
+        return moods;
+    }
+}
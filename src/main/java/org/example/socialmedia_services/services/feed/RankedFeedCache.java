@@ -0,0 +1,81 @@
+package org.example.socialmedia_services.services.feed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.socialmedia_services.config.CacheConfig;
+import org.example.socialmedia_services.event.FollowChangedEvent;
+import org.example.socialmedia_services.event.PostCreatedEvent;
+import org.example.socialmedia_services.event.UserPreferencesChangedEvent;
+import org.example.socialmedia_services.repository.follow.FollowRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Short-TTL cache of each user's ranked feed (the FeedSnapshot of ranked post IDs and scores),
+ * so pull-to-refresh costs a cache hit plus hydration of one page.
+ * Invalidated per user when someone they follow posts, when they follow or unfollow someone,
+ * and when their activity / trip mood preferences change.
+ */
+@Component
+@Slf4j
+public class RankedFeedCache {
+
+    private final Cache cache;
+    private final FollowRepository followRepository;
+
+    @Value("${app.feed.ranked-cache.evict-max-followers:5000}")
+    private int evictMaxFollowers;
+
+    public RankedFeedCache(CacheManager cacheManager, FollowRepository followRepository) {
+        this.cache = cacheManager.getCache(CacheConfig.RANKED_FEED_CACHE);
+        this.followRepository = followRepository;
+    }
+
+    public FeedSnapshot get(String userId) {
+        return cache.get(userId, FeedSnapshot.class);
+    }
+
+    public void put(String userId, FeedSnapshot snapshot) {
+        cache.put(userId, snapshot);
+    }
+
+    public void evict(String userId) {
+        cache.evict(userId);
+    }
+
+    @TransactionalEventListener
+    public void onPostCreated(PostCreatedEvent event) {
+        String creatorUserId = String.valueOf(event.getPost().getCreatedById());
+        evict(creatorUserId);
+
+        try {
+            // Creators with more followers than the cap are left to the TTL, like timeline fan-out
+            List<String> followerIds = followRepository.findAcceptedFollowerUserIds(
+                    creatorUserId, PageRequest.of(0, evictMaxFollowers + 1));
+            if (followerIds.size() > evictMaxFollowers) {
+                log.debug("Not evicting ranked feeds for followers of {}, more than {}",
+                        creatorUserId, evictMaxFollowers);
+                return;
+            }
+            followerIds.forEach(cache::evict);
+        } catch (Exception e) {
+            // The post is already committed - stale feeds expire with the TTL
+            log.error("Failed to evict ranked feeds for followers of {}: {}", creatorUserId, e.getMessage(), e);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onFollowChanged(FollowChangedEvent event) {
+        evict(event.getUserId());
+    }
+
+    @TransactionalEventListener
+    public void onPreferencesChanged(UserPreferencesChangedEvent event) {
+        evict(event.getUserId());
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.socialmedia_services.services.feed;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * "Now" captured once per feed request, so every post in the request is scored against the same instant
+ * without calling LocalDateTime.now() per post.
+ */
+public final class RankingClock {
+
+    private static final long SECONDS_PER_HOUR = 3600L;
+
+    private final long nowEpochSeconds;
+
+    private RankingClock(long nowEpochMillis) {
+        this.nowEpochSeconds = nowEpochMillis / 1000L;
+    }
+
+    public static RankingClock systemNow() {
+        return new RankingClock(System.currentTimeMillis());
+    }
+
+    public static RankingClock at(long epochMillis) {
+        return new RankingClock(epochMillis);
+    }
+
+    public long getNowEpochSeconds() {
+        return nowEpochSeconds;
+    }
+
+    /**
+     * Whole hours elapsed since the given instant, never negative
+     */
+    public int hoursSince(long epochSeconds) {
+        long hours = (nowEpochSeconds - epochSeconds) / SECONDS_PER_HOUR;
+        if (hours <= 0) {
+            return 0;
+        }
+        return hours > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) hours;
+    }
+
+    /**
+     * Convert a post timestamp (stored as local date-time in the server zone) to epoch seconds
+     */
+    public static long toEpochSeconds(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return 0L;
+        }
+        return dateTime.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+}
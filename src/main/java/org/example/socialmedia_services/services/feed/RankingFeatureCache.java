@@ -0,0 +1,194 @@
+package org.example.socialmedia_services.services.feed;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.socialmedia_services.entity.post.PlaceWiseContent;
+import org.example.socialmedia_services.entity.post.Post;
+import org.example.socialmedia_services.event.PostCreatedEvent;
+import org.example.socialmedia_services.event.PostDeletedEvent;
+import org.example.socialmedia_services.event.PostEngagementEvent;
+import org.example.socialmedia_services.repository.post.PlaceWiseContentRepository;
+import org.example.socialmedia_services.repository.post.PostContentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Per-post ranking features, bounded by entry count.
+ * Filled when a post is created, kept current by engagement events and evicted on delete.
+ * Engagement counts are read from the post row only when an entry is loaded; events only arrive for
+ * likes and comments handled on this instance, so entries expire app.feed.feature-cache-expire-after-load-seconds
+ * after loading and are then re-seeded from the row.
+ * Posts that are not cached yet are loaded in bulk (two queries for the whole candidate set).
+ */
+@Component
+@Slf4j
+public class RankingFeatureCache {
+
+    private final PostContentRepository postContentRepository;
+    private final PlaceWiseContentRepository placeWiseContentRepository;
+    private final PreferenceVocabulary vocabulary;
+    private final Cache<Long, PostRankingFeatures> cache;
+
+    public RankingFeatureCache(PostContentRepository postContentRepository,
+                               PlaceWiseContentRepository placeWiseContentRepository,
+                               PreferenceVocabulary vocabulary,
+                               @Value("${app.feed.feature-cache-size:50000}") int maxEntries,
+                               @Value("${app.feed.feature-cache-expire-after-load-seconds:300}") long expireAfterLoadSeconds) {
+        this.postContentRepository = postContentRepository;
+        this.placeWiseContentRepository = placeWiseContentRepository;
+        this.vocabulary = vocabulary;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(Expiry.creating((Long postId, PostRankingFeatures features) ->
+                        Duration.ofSeconds(expireAfterLoadSeconds)))
+                .build();
+    }
+
+    /**
+     * Get ranking features for the given posts, loading any misses in bulk
+     */
+    public Map<Long, PostRankingFeatures> getFeatures(List<Post> posts) {
+        Map<Long, PostRankingFeatures> features = new HashMap<>(posts.size() * 2);
+        List<Post> misses = new ArrayList<>();
+
+        for (Post post : posts) {
+            PostRankingFeatures cached = cache.getIfPresent(post.getPostId());
+            if (cached == null) {
+                misses.add(post);
+            } else {
+                // Keep the event-maintained counters: the post row's like count trails LikeCounterBuffer
+                features.put(post.getPostId(), cached);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            loadMisses(misses, features);
+            log.debug("Ranking feature cache: {} hits, {} misses", posts.size() - misses.size(), misses.size());
+        }
+        return features;
+    }
+
+    @TransactionalEventListener
+    public void onPostCreated(PostCreatedEvent event) {
+        Post post = event.getPost();
+        Set<String> activities = new HashSet<>();
+        Set<String> moods = new HashSet<>();
+        FirstPlace firstPlace = new FirstPlace();
+        if (event.getPlaceWiseContent() != null) {
+            for (PlaceWiseContent pwc : event.getPlaceWiseContent()) {
+                collect(pwc.getTripMood(), pwc.getActivities(), activities, moods);
+                firstPlace.offer(pwc.getPlaceName(), pwc.getSequenceOrder());
+            }
+        }
+        cache.put(post.getPostId(), build(post, true, activities, moods, firstPlace.destinationKey()));
+    }
+
+    @TransactionalEventListener
+    public void onPostDeleted(PostDeletedEvent event) {
+        cache.invalidate(event.getPostId());
+    }
+
+    @TransactionalEventListener
+    public void onPostEngagement(PostEngagementEvent event) {
+        PostRankingFeatures cached = cache.getIfPresent(event.getPostId());
+        if (cached != null) {
+            cached.addEngagement(event.getLikesDelta(), event.getCommentsDelta());
+        }
+    }
+
+    public int size() {
+        return (int) cache.estimatedSize();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void loadMisses(List<Post> misses, Map<Long, PostRankingFeatures> features) {
+        List<Long> postIds = new ArrayList<>(misses.size());
+        for (Post post : misses) {
+            postIds.add(post.getPostId());
+        }
+
+        Set<Long> withContent = new HashSet<>(postContentRepository.findExistingPostIds(postIds));
+
+        Map<Long, Set<String>> activitiesByPost = new HashMap<>();
+        Map<Long, Set<String>> moodsByPost = new HashMap<>();
+        Map<Long, FirstPlace> firstPlaceByPost = new HashMap<>();
+        for (Object[] row : placeWiseContentRepository.findRankingAttributesByPostIds(postIds)) {
+            Long postId = (Long) row[0];
+            collect((String) row[1], (List<String>) row[2],
+                    activitiesByPost.computeIfAbsent(postId, id -> new HashSet<>()),
+                    moodsByPost.computeIfAbsent(postId, id -> new HashSet<>()));
+            firstPlaceByPost.computeIfAbsent(postId, id -> new FirstPlace()).offer((String) row[3], (Integer) row[4]);
+        }
+
+        for (Post post : misses) {
+            PostRankingFeatures loaded = build(post, withContent.contains(post.getPostId()),
+                    activitiesByPost.getOrDefault(post.getPostId(), Collections.emptySet()),
+                    moodsByPost.getOrDefault(post.getPostId(), Collections.emptySet()),
+                    firstPlaceByPost.getOrDefault(post.getPostId(), new FirstPlace()).destinationKey());
+            cache.put(post.getPostId(), loaded);
+            features.put(post.getPostId(), loaded);
+        }
+    }
+
+    private static void collect(String tripMood, List<String> placeActivities,
+                                Set<String> activities, Set<String> moods) {
+        if (placeActivities != null) {
+            for (String activity : placeActivities) {
+                if (activity != null) {
+                    activities.add(activity);
+                }
+            }
+        }
+        if (tripMood != null && !tripMood.isEmpty()) {
+            moods.add(tripMood);
+        }
+    }
+
+    private PostRankingFeatures build(Post post, boolean hasContent, Set<String> activities, Set<String> moods,
+                                      int destinationKey) {
+        return new PostRankingFeatures(
+                post.getPostId(),
+                post.getCreatedById(),
+                RankingClock.toEpochSeconds(post.getCreatedAt()),
+                hasContent,
+                vocabulary.activities().encode(activities),
+                vocabulary.moods().encode(moods),
+                destinationKey,
+                count(post.getLikesCount()),
+                count(post.getCommentsCount()));
+    }
+
+    private static int count(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    /**
+     * Tracks the lowest-sequence place of a post; its normalized name is the post's destination
+     */
+    private static final class FirstPlace {
+        private String placeName;
+        private int sequenceOrder = Integer.MAX_VALUE;
+
+        void offer(String name, Integer sequence) {
+            int order = sequence != null ? sequence : Integer.MAX_VALUE - 1;
+            if (name != null && !name.isBlank() && order < sequenceOrder) {
+                placeName = name;
+                sequenceOrder = order;
+            }
+        }
+
+        int destinationKey() {
+            if (placeName == null) {
+                return 0;
+            }
+            int key = placeName.trim().toLowerCase().hashCode();
+            return key != 0 ? key : 1;
+        }
+    }
+}
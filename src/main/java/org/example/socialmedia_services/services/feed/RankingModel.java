@@ -0,0 +1,21 @@
+package org.example.socialmedia_services.services.feed;
+
+/**
+ * Scores one candidate post for one viewer.
+ * Implementations are immutable and called concurrently from the scoring pool,
+ * so scoring must not lock or touch the database.
+ */
+public interface RankingModel {
+
+    /**
+     * Stable model name, used for A/B bucket allocation, logs and metric tags
+     */
+    String name();
+
+    /**
+     * @param followingIds sorted IDs of the users the viewer follows
+     * @param clock        "now" captured once for the request
+     */
+    double score(PostRankingFeatures post, FeedRankingService.UserPreferences preferences,
+                 long[] followingIds, RankingClock clock);
+}
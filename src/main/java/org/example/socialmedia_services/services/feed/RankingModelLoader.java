@@ -0,0 +1,129 @@
+package org.example.socialmedia_services.services.feed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * Builds a RankingModelSet from app.feed.ranking.* settings.
+ * When app.feed.ranking.config-file is set, keys in that properties file override application.properties,
+ * and the file can be edited at runtime to retune weights or allocations without a redeploy:
+ *
+ * app.feed.ranking.models=control,fresh
+ * app.feed.ranking.model.fresh.recency-weight=4.0
+ * app.feed.ranking.allocation=control:90,fresh:10
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RankingModelLoader {
+
+    private static final String PREFIX = "app.feed.ranking.";
+    private static final String DEFAULT_MODEL_NAME = "linear";
+    private static final String LINEAR_TYPE = "linear";
+
+    private final Environment environment;
+
+    @Value("${app.feed.ranking.config-file:}")
+    private String configFile;
+
+    /**
+     * Last-modified time of the override file, or 0 if none is configured or it does not exist
+     */
+    public long configFileLastModified() {
+        if (configFile == null || configFile.isBlank()) {
+            return 0L;
+        }
+        try {
+            Path path = Paths.get(configFile);
+            return Files.exists(path) ? Files.getLastModifiedTime(path).toMillis() : 0L;
+        } catch (IOException e) {
+            log.warn("Cannot read ranking config file {}: {}", configFile, e.getMessage());
+            return 0L;
+        }
+    }
+
+    /**
+     * Load and validate the model set; throws IllegalArgumentException on invalid config
+     */
+    public RankingModelSet load() throws IOException {
+        Properties overrides = readConfigFile();
+        UnaryOperator<String> config = key -> overrides.getProperty(PREFIX + key, environment.getProperty(PREFIX + key));
+
+        Map<String, RankingModel> models = new LinkedHashMap<>();
+        for (String name : splitList(config.apply("models"), DEFAULT_MODEL_NAME)) {
+            String type = config.apply("model." + name + ".type");
+            if (type != null && !LINEAR_TYPE.equalsIgnoreCase(type.trim())) {
+                throw new IllegalArgumentException("Unsupported ranking model type '" + type + "' for model " + name);
+            }
+            models.put(name, LinearRankingModel.fromConfig(name, key -> config.apply("model." + name + "." + key)));
+        }
+        RankingModel firstModel = models.values().iterator().next();
+
+        List<RankingModelSet.Allocation> allocations = new ArrayList<>();
+        int totalPercent = 0;
+        for (String entry : splitList(config.apply("allocation"), firstModel.name() + ":" + RankingModelSet.BUCKETS)) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2 || !models.containsKey(parts[0].trim())) {
+                throw new IllegalArgumentException("Invalid ranking model allocation '" + entry + "'");
+            }
+            int percent;
+            try {
+                percent = Integer.parseInt(parts[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid ranking model allocation '" + entry + "'", e);
+            }
+            if (percent < 0) {
+                throw new IllegalArgumentException("Invalid ranking model allocation '" + entry + "'");
+            }
+            totalPercent += percent;
+            allocations.add(new RankingModelSet.Allocation(models.get(parts[0].trim()), percent));
+        }
+        if (totalPercent > RankingModelSet.BUCKETS) {
+            throw new IllegalArgumentException("Ranking model allocations add up to " + totalPercent + "%");
+        }
+
+        String salt = config.apply("salt");
+        return new RankingModelSet(models, allocations, firstModel, salt != null ? salt : "feed-ranking");
+    }
+
+    private Properties readConfigFile() throws IOException {
+        Properties properties = new Properties();
+        if (configFile == null || configFile.isBlank()) {
+            return properties;
+        }
+        Path path = Paths.get(configFile);
+        if (!Files.exists(path)) {
+            log.warn("Ranking config file {} does not exist, using application properties", configFile);
+            return properties;
+        }
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        }
+        return properties;
+    }
+
+    private static List<String> splitList(String value, String defaultValue) {
+        String source = value == null || value.isBlank() ? defaultValue : value;
+        List<String> items = new ArrayList<>();
+        for (String item : source.split(",")) {
+            if (!item.isBlank()) {
+                items.add(item.trim());
+            }
+        }
+        if (items.isEmpty()) {
+            items.add(defaultValue);
+        }
+        return items;
+    }
+}
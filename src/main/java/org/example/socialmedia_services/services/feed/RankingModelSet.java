@@ -0,0 +1,77 @@
+package org.example.socialmedia_services.services.feed;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Immutable set of ranking models plus their A/B traffic allocation.
+ * Swapped as a whole on reload, so a request always sees one consistent model set.
+ * Users are bucketed by a stable hash of userId and salt into 100 buckets;
+ * allocations are walked in order, and buckets past the last allocation get the first model.
+ */
+public final class RankingModelSet {
+
+    public static final int BUCKETS = 100;
+
+    private final Map<String, RankingModel> models;
+    private final List<Allocation> allocations;
+    private final RankingModel defaultModel;
+    private final String salt;
+
+    public RankingModelSet(Map<String, RankingModel> models, List<Allocation> allocations,
+                           RankingModel defaultModel, String salt) {
+        this.models = Map.copyOf(models);
+        this.allocations = List.copyOf(allocations);
+        this.defaultModel = defaultModel;
+        this.salt = salt;
+    }
+
+    /**
+     * Pick the model for this viewer's bucket
+     */
+    public RankingModel select(String userId) {
+        int bucket = bucketOf(userId);
+        int upper = 0;
+        for (Allocation allocation : allocations) {
+            upper += allocation.getPercent();
+            if (bucket < upper) {
+                return allocation.getModel();
+            }
+        }
+        return defaultModel;
+    }
+
+    public int bucketOf(String userId) {
+        CRC32 crc = new CRC32();
+        crc.update((salt + ":" + userId).getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % BUCKETS);
+    }
+
+    public Map<String, RankingModel> getModels() {
+        return models;
+    }
+
+    public List<Allocation> getAllocations() {
+        return allocations;
+    }
+
+    public static final class Allocation {
+        private final RankingModel model;
+        private final int percent;
+
+        public Allocation(RankingModel model, int percent) {
+            this.model = model;
+            this.percent = percent;
+        }
+
+        public RankingModel getModel() {
+            return model;
+        }
+
+        public int getPercent() {
+            return percent;
+        }
+    }
+}
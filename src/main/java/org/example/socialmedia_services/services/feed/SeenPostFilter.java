@@ -0,0 +1,156 @@
+package org.example.socialmedia_services.services.feed;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Probabilistic set of the posts a user has already been shown.
+ * Two Bloom filter generations: new IDs go into the current one, and once it holds its capacity
+ * the previous generation is dropped and the current one takes its place. Lookups check both,
+ * so the last one to two generations of posts are remembered in a fixed number of bytes.
+ * False positives (an unseen post reported as seen) happen at about the configured rate;
+ * false negatives do not happen until an ID ages out with its generation.
+ * All methods are synchronized - a filter is only shared by the requests of one user.
+ */
+public class SeenPostFilter {
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 1 + 4 * 4;
+
+    private final int capacity;
+    private final int numBits;
+    private final int numHashes;
+    private long[] current;
+    private long[] previous;
+    private int currentCount;
+
+    private SeenPostFilter(int capacity, int numBits, int numHashes,
+                           long[] current, long[] previous, int currentCount) {
+        this.capacity = capacity;
+        this.numBits = numBits;
+        this.numHashes = numHashes;
+        this.current = current;
+        this.previous = previous;
+        this.currentCount = currentCount;
+    }
+
+    /**
+     * Empty filter sized for the given number of posts per generation and false-positive rate
+     */
+    public static SeenPostFilter create(int capacity, double falsePositiveRate) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        // Standard Bloom sizing: m = -n ln p / (ln 2)^2, k = m / n ln 2
+        double ln2 = Math.log(2);
+        int numBits = (int) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+        numBits = Math.max(64, (numBits + 63) & ~63);
+        int numHashes = Math.max(1, (int) Math.round((double) numBits / capacity * ln2));
+        return new SeenPostFilter(capacity, numBits, numHashes,
+                new long[numBits / 64], new long[numBits / 64], 0);
+    }
+
+    public synchronized boolean mightContain(long postId) {
+        long hash = mix(postId);
+        return contains(current, hash) || contains(previous, hash);
+    }
+
+    /**
+     * Record a post as seen, rotating generations when the current one is full
+     *
+     * @return true if the post was not already (probably) present
+     */
+    public synchronized boolean add(long postId) {
+        long hash = mix(postId);
+        if (contains(current, hash) || contains(previous, hash)) {
+            return false;
+        }
+        if (currentCount >= capacity) {
+            previous = current;
+            current = new long[numBits / 64];
+            currentCount = 0;
+        }
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, numBits);
+            current[bit >>> 6] |= 1L << bit;
+        }
+        currentCount++;
+        return true;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Compact binary form: a small header followed by both bit arrays
+     */
+    public synchronized byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 2 * current.length * 8);
+        buffer.put(FORMAT_VERSION)
+                .putInt(capacity)
+                .putInt(numBits)
+                .putInt(numHashes)
+                .putInt(currentCount);
+        for (long word : current) {
+            buffer.putLong(word);
+        }
+        for (long word : previous) {
+            buffer.putLong(word);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Restore a filter written by toBytes
+     *
+     * @throws IllegalArgumentException if the blob is truncated or in an unknown format
+     */
+    public static SeenPostFilter fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length < HEADER_BYTES || bytes[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported seen-post filter format");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+        int capacity = buffer.getInt();
+        int numBits = buffer.getInt();
+        int numHashes = buffer.getInt();
+        int currentCount = buffer.getInt();
+        if (capacity <= 0 || numBits <= 0 || numBits % 64 != 0 || numHashes <= 0
+                || bytes.length != HEADER_BYTES + 2 * (numBits / 8)) {
+            throw new IllegalArgumentException("Corrupt seen-post filter");
+        }
+        long[] current = new long[numBits / 64];
+        long[] previous = new long[numBits / 64];
+        for (int i = 0; i < current.length; i++) {
+            current[i] = buffer.getLong();
+        }
+        for (int i = 0; i < previous.length; i++) {
+            previous[i] = buffer.getLong();
+        }
+        return new SeenPostFilter(capacity, numBits, numHashes, current, previous, currentCount);
+    }
+
+    private boolean contains(long[] bits, long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, numBits);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // SplitMix64 finalizer - post IDs are sequential, so spread them before double hashing
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.socialmedia_services.services.feed;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.socialmedia_services.cache.LruCache;
+import org.example.socialmedia_services.entity.post.Post;
+import org.example.socialmedia_services.repository.feed.UserSeenPostsRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user SeenPostFilters, kept in an LRU cache and persisted to user_seen_posts as bytea.
+ * Serving a feed page only updates the in-memory filter and marks it dirty;
+ * dirty filters are written back in batches by SeenPostFlushScheduler and on shutdown.
+ */
+@Component
+@Slf4j
+public class SeenPostStore {
+
+    private final UserSeenPostsRepository userSeenPostsRepository;
+    private final LruCache<String, SeenPostFilter> cache;
+    private final Map<String, SeenPostFilter> dirty = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final int capacity;
+    private final double falsePositiveRate;
+
+    public SeenPostStore(UserSeenPostsRepository userSeenPostsRepository,
+                         @Value("${app.feed.seen.enabled:true}") boolean enabled,
+                         @Value("${app.feed.seen.cache-size:20000}") int maxEntries,
+                         @Value("${app.feed.seen.capacity:1000}") int capacity,
+                         @Value("${app.feed.seen.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userSeenPostsRepository = userSeenPostsRepository;
+        this.enabled = enabled;
+        this.cache = new LruCache<>(maxEntries);
+        this.capacity = capacity;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The user's filter, loaded from the database on a cache miss (empty if none is stored)
+     */
+    public SeenPostFilter filterFor(String userId) {
+        SeenPostFilter filter = dirty.get(userId);
+        if (filter == null) {
+            filter = cache.get(userId);
+        }
+        if (filter == null) {
+            filter = load(userId);
+            cache.put(userId, filter);
+        }
+        return filter;
+    }
+
+    /**
+     * Record the posts just returned to the user
+     */
+    public void markSeen(String userId, List<Post> posts) {
+        if (!enabled || userId == null || posts.isEmpty()) {
+            return;
+        }
+        SeenPostFilter filter = filterFor(userId);
+        boolean changed = false;
+        for (Post post : posts) {
+            changed |= filter.add(post.getPostId());
+        }
+        if (changed) {
+            dirty.put(userId, filter);
+        }
+    }
+
+    /**
+     * Write all dirty filters back to the database
+     *
+     * @return number of filters written
+     */
+    public int flush() {
+        int written = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<String, SeenPostFilter> entry : dirty.entrySet()) {
+            // Remove before writing so an update racing with the write marks the filter dirty again
+            if (!dirty.remove(entry.getKey(), entry.getValue())) {
+                continue;
+            }
+            try {
+                userSeenPostsRepository.upsert(entry.getKey(), entry.getValue().toBytes(), now);
+                written++;
+            } catch (Exception e) {
+                dirty.putIfAbsent(entry.getKey(), entry.getValue());
+                log.error("Failed to persist seen-post filter for userId={}: {}", entry.getKey(), e.getMessage(), e);
+            }
+        }
+        return written;
+    }
+
+    public int dirtyCount() {
+        return dirty.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int written = flush();
+        log.info("Persisted {} seen-post filters on shutdown", written);
+    }
+
+    private SeenPostFilter load(String userId) {
+        return userSeenPostsRepository.findById(userId)
+                .map(stored -> {
+                    try {
+                        SeenPostFilter filter = SeenPostFilter.fromBytes(stored.getSeenFilter());
+                        if (filter.getCapacity() == capacity) {
+                            return filter;
+                        }
+                        log.info("Seen-post filter for userId={} has a different capacity, starting a new one", userId);
+                    } catch (IllegalArgumentException e) {
+                        log.warn("Discarding unreadable seen-post filter for userId={}: {}", userId, e.getMessage());
+                    }
+                    return SeenPostFilter.create(capacity, falsePositiveRate);
+                })
+                .orElseGet(() -> SeenPostFilter.create(capacity, falsePositiveRate));
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.socialmedia_services.services.feed;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Interns lower-cased terms (activities, trip moods) into dense integer IDs and encodes
+ * sets of terms as bitmasks, so matching two sets is an AND plus a popcount.
+ * IDs are never reused; once maxTerms is reached new terms are left out of masks.
+ */
+public class TermDictionary {
+
+    private static final long[] EMPTY_MASK = new long[0];
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final int maxTerms;
+
+    public TermDictionary(int maxTerms) {
+        this.maxTerms = maxTerms;
+    }
+
+    /**
+     * ID for a term, assigning one if needed; -1 if the dictionary is full
+     */
+    public int idOf(String term) {
+        String normalized = term.toLowerCase();
+        Integer id = ids.get(normalized);
+        if (id != null) {
+            return id;
+        }
+        if (nextId.get() >= maxTerms) {
+            return -1;
+        }
+        return ids.computeIfAbsent(normalized, key -> {
+            int assigned = nextId.getAndIncrement();
+            return assigned < maxTerms ? assigned : -1;
+        });
+    }
+
+    /**
+     * Encode a collection of terms as a bitmask indexed by term ID
+     */
+    public long[] encode(Collection<String> terms) {
+        if (terms == null || terms.isEmpty()) {
+            return EMPTY_MASK;
+        }
+        long[] mask = EMPTY_MASK;
+        for (String term : terms) {
+            if (term == null || term.isEmpty()) {
+                continue;
+            }
+            int id = idOf(term);
+            if (id < 0) {
+                continue;
+            }
+            int word = id >>> 6;
+            if (word >= mask.length) {
+                long[] grown = new long[word + 1];
+                System.arraycopy(mask, 0, grown, 0, mask.length);
+                mask = grown;
+            }
+            mask[word] |= 1L << id;
+        }
+        return mask;
+    }
+
+    public int size() {
+        return Math.min(nextId.get(), maxTerms);
+    }
+
+    /**
+     * Number of bits set in both masks
+     */
+    public static int intersectionCount(long[] a, long[] b) {
+        int words = Math.min(a.length, b.length);
+        int count = 0;
+        for (int i = 0; i < words; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Number of bits set in the mask
+     */
+    public static int cardinality(long[] mask) {
+        int count = 0;
+        for (long word : mask) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
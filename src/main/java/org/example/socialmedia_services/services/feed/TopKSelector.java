@@ -0,0 +1,82 @@
+package org.example.socialmedia_services.services.feed;
+
+/**
+ * Selects the K highest scores from a primitive score array with a bounded min-heap of indices.
+ * O(n log k) time and O(k) memory instead of sorting all n candidates.
+ * Ties are broken by candidate index (earlier first), which matches a stable descending sort.
+ */
+public final class TopKSelector {
+
+    private static final int[] EMPTY = new int[0];
+
+    private TopKSelector() {
+    }
+
+    /**
+     * Indices of the top k scores among scores[0..n), ordered best first
+     */
+    public static int[] topK(double[] scores, int n, int k) {
+        int size = Math.min(k, n);
+        if (size <= 0) {
+            return EMPTY;
+        }
+
+        int[] heap = new int[size];
+        int filled = 0;
+        for (int i = 0; i < n; i++) {
+            if (filled < size) {
+                heap[filled] = i;
+                siftUp(heap, filled, scores);
+                filled++;
+            } else if (ranksBefore(i, heap[0], scores)) {
+                // Candidate beats the worst of the current top k
+                heap[0] = i;
+                siftDown(heap, 0, size, scores);
+            }
+        }
+
+        // Heap-sort in place: moving the worst to the end each time leaves the array best first
+        for (int end = size - 1; end > 0; end--) {
+            int worst = heap[0];
+            heap[0] = heap[end];
+            heap[end] = worst;
+            siftDown(heap, 0, end, scores);
+        }
+        return heap;
+    }
+
+    private static boolean ranksBefore(int a, int b, double[] scores) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+
+    private static void siftUp(int[] heap, int pos, double[] scores) {
+        int item = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (!ranksBefore(heap[parent], item, scores)) {
+                break;
+            }
+            heap[pos] = heap[parent];
+            pos = parent;
+        }
+        heap[pos] = item;
+    }
+
+    private static void siftDown(int[] heap, int pos, int size, double[] scores) {
+        int item = heap[pos];
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < size && ranksBefore(heap[child], heap[right], scores)) {
+                child = right;
+            }
+            if (!ranksBefore(item, heap[child], scores)) {
+                break;
+            }
+            heap[pos] = heap[child];
+            pos = child;
+        }
+        heap[pos] = item;
+    }
+}
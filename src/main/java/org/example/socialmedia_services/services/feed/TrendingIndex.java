@@ -0,0 +1,236 @@
+package org.example.socialmedia_services.services.feed;
+
+import org.example.socialmedia_services.event.PostDeletedEvent;
+import org.example.socialmedia_services.event.PostEngagementEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-process trending index: engagement velocity per post over a sliding window, kept entirely in memory.
+ *
+ * Each tracked post owns a slot; a slot is a ring buffer of per-minute buckets in one shared int[]
+ * (slot * windowMinutes + minute % windowMinutes) plus a running window total, so recording is O(1)
+ * and buckets that slide out of the window are subtracted lazily. Likes count 1, comments 2.
+ * A periodic refresh ranks the slots into an immutable top list, so reading the top K is O(K)
+ * and never touches Postgres.
+ */
+@Component
+public class TrendingIndex {
+
+    private static final int LIKE_WEIGHT = 1;
+    private static final int COMMENT_WEIGHT = 2;
+
+    private final int windowMinutes;
+    private final int topSize;
+
+    private final int[] buckets;
+    private final long[] slotPostIds;
+    private final long[] slotMinutes;
+    private final int[] slotTotals;
+    private final int[] freeSlots;
+    private int freeCount;
+    private final Map<Long, Integer> slotByPostId = new HashMap<>();
+    private long droppedEvents;
+
+    private volatile Ranking ranking = Ranking.EMPTY;
+
+    public TrendingIndex(@Value("${app.feed.trending.window-minutes:60}") int windowMinutes,
+                         @Value("${app.feed.trending.max-posts:20000}") int capacity,
+                         @Value("${app.feed.trending.top-size:500}") int topSize) {
+        this.windowMinutes = windowMinutes;
+        this.topSize = topSize;
+        this.buckets = new int[capacity * windowMinutes];
+        this.slotPostIds = new long[capacity];
+        this.slotMinutes = new long[capacity];
+        this.slotTotals = new int[capacity];
+        this.freeSlots = new int[capacity];
+        for (int slot = 0; slot < capacity; slot++) {
+            freeSlots[slot] = capacity - 1 - slot;
+        }
+        this.freeCount = capacity;
+    }
+
+    @TransactionalEventListener
+    public void onPostEngagement(PostEngagementEvent event) {
+        int delta = event.getLikesDelta() * LIKE_WEIGHT + event.getCommentsDelta() * COMMENT_WEIGHT;
+        record(event.getPostId(), delta, currentMinute());
+    }
+
+    @TransactionalEventListener
+    public void onPostDeleted(PostDeletedEvent event) {
+        remove(event.getPostId());
+    }
+
+    /**
+     * Add weighted engagement to the post's bucket for the given minute
+     */
+    public synchronized void record(long postId, int delta, long minute) {
+        if (delta == 0) {
+            return;
+        }
+        Integer slot = slotByPostId.get(postId);
+        if (slot == null) {
+            if (delta < 0) {
+                // Engagement removed from a post that is not trending - nothing to undo
+                return;
+            }
+            if (freeCount == 0) {
+                droppedEvents++;
+                return;
+            }
+            slot = freeSlots[--freeCount];
+            slotByPostId.put(postId, slot);
+            slotPostIds[slot] = postId;
+            slotMinutes[slot] = minute;
+            slotTotals[slot] = 0;
+        }
+
+        advance(slot, minute);
+        int index = slot * windowMinutes + (int) (minute % windowMinutes);
+        buckets[index] += delta;
+        slotTotals[slot] += delta;
+    }
+
+    public synchronized void remove(long postId) {
+        Integer slot = slotByPostId.remove(postId);
+        if (slot != null) {
+            release(slot);
+        }
+    }
+
+    /**
+     * Slide every slot to the given minute, release slots with no engagement left in the window,
+     * and publish a new top list
+     */
+    public synchronized Ranking refresh(long minute) {
+        int tracked = 0;
+        int[] slots = new int[slotByPostId.size()];
+        for (int slot : slotByPostId.values()) {
+            slots[tracked++] = slot;
+        }
+
+        // Compacts slots in place to the ones still trending
+        double[] scores = new double[tracked];
+        int count = 0;
+        for (int i = 0; i < tracked; i++) {
+            int slot = slots[i];
+            advance(slot, minute);
+            if (slotTotals[slot] <= 0) {
+                slotByPostId.remove(slotPostIds[slot]);
+                release(slot);
+                continue;
+            }
+            slots[count] = slot;
+            scores[count] = slotTotals[slot];
+            count++;
+        }
+
+        int[] top = TopKSelector.topK(scores, count, topSize);
+        long[] postIds = new long[top.length];
+        int[] totals = new int[top.length];
+        for (int i = 0; i < top.length; i++) {
+            postIds[i] = slotPostIds[slots[top[i]]];
+            totals[i] = slotTotals[slots[top[i]]];
+        }
+
+        Ranking refreshed = new Ranking(postIds, totals, System.currentTimeMillis());
+        ranking = refreshed;
+        return refreshed;
+    }
+
+    public Ranking refresh() {
+        return refresh(currentMinute());
+    }
+
+    /**
+     * Latest published top list; reading the first K entries is O(K)
+     */
+    public Ranking getRanking() {
+        return ranking;
+    }
+
+    public synchronized int trackedPosts() {
+        return slotByPostId.size();
+    }
+
+    public synchronized long droppedEvents() {
+        return droppedEvents;
+    }
+
+    public int getWindowMinutes() {
+        return windowMinutes;
+    }
+
+    private void advance(int slot, long minute) {
+        long last = slotMinutes[slot];
+        if (minute <= last) {
+            return;
+        }
+        int base = slot * windowMinutes;
+        if (minute - last >= windowMinutes) {
+            // The whole window has expired
+            for (int i = 0; i < windowMinutes; i++) {
+                buckets[base + i] = 0;
+            }
+            slotTotals[slot] = 0;
+        } else {
+            for (long m = last + 1; m <= minute; m++) {
+                int index = base + (int) (m % windowMinutes);
+                slotTotals[slot] -= buckets[index];
+                buckets[index] = 0;
+            }
+        }
+        slotMinutes[slot] = minute;
+    }
+
+    private void release(int slot) {
+        int base = slot * windowMinutes;
+        for (int i = 0; i < windowMinutes; i++) {
+            buckets[base + i] = 0;
+        }
+        slotTotals[slot] = 0;
+        freeSlots[freeCount++] = slot;
+    }
+
+    private static long currentMinute() {
+        return System.currentTimeMillis() / 60_000L;
+    }
+
+    /**
+     * Immutable top list, best first: postId and weighted engagement within the window
+     */
+    public static final class Ranking {
+
+        static final Ranking EMPTY = new Ranking(new long[0], new int[0], 0L);
+
+        private final long[] postIds;
+        private final int[] scores;
+        private final long computedAtMillis;
+
+        Ranking(long[] postIds, int[] scores, long computedAtMillis) {
+            this.postIds = postIds;
+            this.scores = scores;
+            this.computedAtMillis = computedAtMillis;
+        }
+
+        public int size() {
+            return postIds.length;
+        }
+
+        public long getPostId(int index) {
+            return postIds[index];
+        }
+
+        public int getScore(int index) {
+            return scores[index];
+        }
+
+        public long getComputedAtMillis() {
+            return computedAtMillis;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.socialmedia_services.services.feed.candidate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.socialmedia_services.entity.post.Post;
+import org.example.socialmedia_services.services.feed.FeedMetrics;
+import org.example.socialmedia_services.services.feed.SeenPostFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Candidate-generation stage of the feed.
+ * Merges the bounded candidate sources in order, keeping the first occurrence of each post,
+ * so per-request ranking work is capped by the sum of the source limits rather than the table size.
+ * Each source runs outside the caller's transaction: a failed query would otherwise abort it in Postgres,
+ * failing every later source and the request, instead of only dropping that source's candidates.
+ *
+ * Metrics, tagged by source:
+ * feed.candidates.fetched - posts returned by the source
+ * feed.candidates.merged  - posts the source contributed that no earlier source had already returned
+ * feed.candidates.seen    - merged posts dropped because the viewer was already shown them (untagged)
+ */
+@Service
+@Slf4j
+public class FeedCandidateGenerator {
+
+    private final List<FeedCandidateSource> sources;
+    private final FeedMetrics feedMetrics;
+    private final TransactionTemplate sourceTransaction;
+    private final Map<String, Counter> fetchedCounters = new HashMap<>();
+    private final Map<String, Counter> mergedCounters = new HashMap<>();
+    private final Counter seenCounter;
+    private final int minUnseen;
+
+    public FeedCandidateGenerator(List<FeedCandidateSource> sources, MeterRegistry meterRegistry,
+                                  FeedMetrics feedMetrics, PlatformTransactionManager transactionManager,
+                                  @Value("${app.feed.seen.min-unseen:20}") int minUnseen) {
+        this.sources = sources;
+        this.feedMetrics = feedMetrics;
+        this.sourceTransaction = new TransactionTemplate(transactionManager);
+        this.sourceTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        this.sourceTransaction.setReadOnly(true);
+        this.minUnseen = minUnseen;
+        this.seenCounter = Counter.builder("feed.candidates.seen")
+                .description("Feed candidates dropped because the viewer has already seen them")
+                .register(meterRegistry);
+        for (FeedCandidateSource source : sources) {
+            fetchedCounters.put(source.name(), Counter.builder("feed.candidates.fetched")
+                    .description("Feed candidates returned by a candidate source")
+                    .tag("source", source.name())
+                    .register(meterRegistry));
+            mergedCounters.put(source.name(), Counter.builder("feed.candidates.merged")
+                    .description("Feed candidates contributed by a source after de-duplication")
+                    .tag("source", source.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Collect the merged candidate set for one feed request
+     */
+    public List<Post> generate(FeedCandidateQuery query) {
+        Map<Long, Post> candidates = new LinkedHashMap<>();
+        StringBuilder summary = new StringBuilder();
+
+        for (FeedCandidateSource source : sources) {
+            List<Post> posts;
+            try {
+                posts = feedMetrics.time("candidates." + source.name(),
+                        () -> sourceTransaction.execute(status -> source.fetch(query)));
+            } catch (Exception e) {
+                // One failing source only narrows the feed, it does not fail the request
+                log.error("Feed candidate source {} failed for userId={}: {}",
+                        source.name(), query.getUserId(), e.getMessage(), e);
+                continue;
+            }
+
+            int merged = 0;
+            for (Post post : posts) {
+                if (candidates.putIfAbsent(post.getPostId(), post) == null) {
+                    merged++;
+                }
+            }
+
+            fetchedCounters.get(source.name()).increment(posts.size());
+            mergedCounters.get(source.name()).increment(merged);
+            summary.append(' ').append(source.name()).append('=').append(posts.size()).append('/').append(merged);
+        }
+
+        List<Post> merged = new ArrayList<>(candidates.values());
+        if (query.getSeenFilter() != null) {
+            merged = feedMetrics.time("candidates.seen_filter", () -> dropSeen(candidates, query));
+        }
+
+        log.info("Generated {} feed candidates for userId={} (fetched/merged:{}, seen={})",
+                merged.size(), query.getUserId(), summary, candidates.size() - merged.size());
+        return merged;
+    }
+
+    /**
+     * Drop posts the viewer has already been shown before they are scored and hydrated.
+     * When too few unseen posts are left the seen ones are kept, so a user who scrolled
+     * through everything still gets a feed rather than an empty page.
+     */
+    private List<Post> dropSeen(Map<Long, Post> candidates, FeedCandidateQuery query) {
+        SeenPostFilter seenFilter = query.getSeenFilter();
+        List<Post> unseen = new ArrayList<>(candidates.size());
+        for (Post post : candidates.values()) {
+            if (!seenFilter.mightContain(post.getPostId())) {
+                unseen.add(post);
+            }
+        }
+
+        if (unseen.size() < minUnseen && unseen.size() < candidates.size()) {
+            log.info("Only {} unseen feed candidates for userId={}, keeping seen posts", unseen.size(), query.getUserId());
+            return new ArrayList<>(candidates.values());
+        }
+        seenCounter.increment(candidates.size() - unseen.size());
+        return unseen;
+    }
+}
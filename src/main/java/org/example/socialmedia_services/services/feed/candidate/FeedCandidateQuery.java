@@ -0,0 +1,49 @@
+package org.example.socialmedia_services.services.feed.candidate;
+
+import org.example.socialmedia_services.entity.UserProfile;
+import org.example.socialmedia_services.services.feed.SeenPostFilter;
+
+/**
+ * Viewer context shared by all candidate sources for one feed request
+ */
+public class FeedCandidateQuery {
+
+    private final String userId;
+    private final UserProfile userProfile;
+    private final long[] followingIds;
+    private final SeenPostFilter seenFilter;
+
+    public FeedCandidateQuery(String userId, UserProfile userProfile, long[] followingIds) {
+        this(userId, userProfile, followingIds, null);
+    }
+
+    public FeedCandidateQuery(String userId, UserProfile userProfile, long[] followingIds,
+                              SeenPostFilter seenFilter) {
+        this.userId = userId;
+        this.userProfile = userProfile;
+        this.followingIds = followingIds;
+        this.seenFilter = seenFilter;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public UserProfile getUserProfile() {
+        return userProfile;
+    }
+
+    /**
+     * Sorted IDs of the users the viewer follows
+     */
+    public long[] getFollowingIds() {
+        return followingIds;
+    }
+
+    /**
+     * Posts the viewer has already been shown, or null to keep them
+     */
+    public SeenPostFilter getSeenFilter() {
+        return seenFilter;
+    }
+}
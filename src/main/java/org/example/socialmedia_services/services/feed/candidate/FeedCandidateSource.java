@@ -0,0 +1,23 @@
+package org.example.socialmedia_services.services.feed.candidate;
+
+import org.example.socialmedia_services.entity.post.Post;
+
+import java.util.List;
+
+/**
+ * One bounded source of feed candidates.
+ * Implementations must cap what they return regardless of table size; the generator
+ * merges all sources in @Order order and keeps the first occurrence of each post.
+ */
+public interface FeedCandidateSource {
+
+    /**
+     * Short stable name used in logs and as the metric tag
+     */
+    String name();
+
+    /**
+     * Fetch at most this source's configured number of candidates for the viewer
+     */
+    List<Post> fetch(FeedCandidateQuery query);
+}
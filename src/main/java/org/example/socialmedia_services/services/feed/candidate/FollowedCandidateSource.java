@@ -0,0 +1,34 @@
+package org.example.socialmedia_services.services.feed.candidate;
+
+import lombok.RequiredArgsConstructor;
+import org.example.socialmedia_services.entity.post.Post;
+import org.example.socialmedia_services.services.feed.FeedTimelineService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Recent posts from followed users, read from the materialized timeline
+ */
+@Component
+@Order(1)
+@RequiredArgsConstructor
+public class FollowedCandidateSource implements FeedCandidateSource {
+
+    private final FeedTimelineService feedTimelineService;
+
+    @Value("${app.feed.candidates.followed-limit:500}")
+    private int limit;
+
+    @Override
+    public String name() {
+        return "followed";
+    }
+
+    @Override
+    public List<Post> fetch(FeedCandidateQuery query) {
+        return feedTimelineService.loadFollowedPosts(query.getUserId(), query.getFollowingIds(), limit);
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.socialmedia_services.services.feed.candidate;
+
+import lombok.RequiredArgsConstructor;
+import org.example.socialmedia_services.entity.UserProfile;
+import org.example.socialmedia_services.entity.post.Post;
+import org.example.socialmedia_services.repository.post.PostRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Recent posts whose places match the viewer's favourite activities or preferred trip moods
+ */
+@Component
+@Order(3)
+@RequiredArgsConstructor
+public class PreferenceMatchCandidateSource implements FeedCandidateSource {
+
+    // IN () is not valid SQL, so an empty preference list is replaced by a term that never matches
+    private static final List<String> NO_TERMS = Collections.singletonList("");
+
+    private final PostRepository postRepository;
+
+    @Value("${app.feed.candidates.preference-limit:200}")
+    private int limit;
+
+    @Value("${app.feed.candidates.preference-days:30}")
+    private int lookbackDays;
+
+    @Override
+    public String name() {
+        return "preference";
+    }
+
+    @Override
+    public List<Post> fetch(FeedCandidateQuery query) {
+        UserProfile profile = query.getUserProfile();
+        Set<String> moods = lowerCaseSet(profile.getPreferredTripMoods());
+        Set<String> activities = lowerCaseSet(profile.getFavouriteActivities());
+        if (moods.isEmpty() && activities.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return postRepository.findRecentMatchingPreferences(
+                moods.isEmpty() ? NO_TERMS : moods,
+                activities.isEmpty() ? NO_TERMS : activities,
+                LocalDateTime.now().minusDays(lookbackDays),
+                limit);
+    }
+
+    private static Set<String> lowerCaseSet(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return values.stream()
+                .filter(value -> value != null && !value.isEmpty())
+                .map(String::toLowerCase)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.socialmedia_services.services.feed.candidate;
+
+import lombok.RequiredArgsConstructor;
+import org.example.socialmedia_services.entity.post.Post;
+import org.example.socialmedia_services.repository.post.PostRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Newest posts from everyone, so users who follow few people and have no engagement history still get a feed
+ */
+@Component
+@Order(4)
+@RequiredArgsConstructor
+public class RecentCandidateSource implements FeedCandidateSource {
+
+    private final PostRepository postRepository;
+
+    @Value("${app.feed.discovery-window:200}")
+    private int limit;
+
+    @Override
+    public String name() {
+        return "recent";
+    }
+
+    @Override
+    public List<Post> fetch(FeedCandidateQuery query) {
+        return postRepository.findRecentPosts(PageRequest.of(0, limit));
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.socialmedia_services.services.feed.candidate;
+
+import lombok.RequiredArgsConstructor;
+import org.example.socialmedia_services.entity.post.Post;
+import org.example.socialmedia_services.repository.post.PostRepository;
+import org.example.socialmedia_services.services.feed.TrendingIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Posts with the most engagement velocity, from the in-memory TrendingIndex.
+ * Until the index has data (e.g. right after a restart) it falls back to the most engaged recent posts.
+ */
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class TrendingCandidateSource implements FeedCandidateSource {
+
+    private final PostRepository postRepository;
+    private final TrendingIndex trendingIndex;
+
+    @Value("${app.feed.candidates.trending-limit:200}")
+    private int limit;
+
+    @Value("${app.feed.candidates.trending-days:7}")
+    private int lookbackDays;
+
+    @Override
+    public String name() {
+        return "trending";
+    }
+
+    @Override
+    public List<Post> fetch(FeedCandidateQuery query) {
+        TrendingIndex.Ranking ranking = trendingIndex.getRanking();
+        if (ranking.size() > 0) {
+            int count = Math.min(limit, ranking.size());
+            List<Long> postIds = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                postIds.add(ranking.getPostId(i));
+            }
+            return postRepository.findAllById(postIds);
+        }
+
+        return postRepository.findTrendingSince(LocalDateTime.now().minusDays(lookbackDays), PageRequest.of(0, limit));
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.socialmedia_services.services.follow;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.socialmedia_services.cache.SortedLongArrays;
+import org.example.socialmedia_services.event.FollowChangedEvent;
+import org.example.socialmedia_services.repository.follow.FollowRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory adjacency list of accepted follows: for each user, the IDs of the users they follow
+ * as a sorted long[] (binary-searchable, no boxing). Loaded unpaged on first use and updated
+ * incrementally when a follow is accepted or removed. Arrays handed out are never mutated.
+ *
+ * Follow events are only delivered in-process, so entries expire a fixed time after they were loaded
+ * (local updates do not extend it) and follows made through other instances show up within
+ * app.follow.graph-cache-expire-after-load-seconds.
+ */
+@Component
+@Slf4j
+public class FollowGraphCache {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final FollowRepository followRepository;
+    private final Cache<String, long[]> cache;
+
+    // Bumped on every follow change; a load that raced with a change is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public FollowGraphCache(FollowRepository followRepository,
+                            @Value("${app.follow.graph-cache-size:20000}") int maxEntries,
+                            @Value("${app.follow.graph-cache-expire-after-load-seconds:300}") long expireAfterLoadSeconds) {
+        this.followRepository = followRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(Expiry.creating((String userId, long[] followingIds) -> Duration.ofSeconds(expireAfterLoadSeconds)))
+                .build();
+    }
+
+    /**
+     * Sorted IDs of the users the given user follows (accepted follows only)
+     */
+    public long[] getFollowingIds(String userId) {
+        long[] cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadGeneration = generation.get();
+        long[] loaded = load(userId);
+        if (generation.get() == loadGeneration) {
+            cache.put(userId, loaded);
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener
+    public void onFollowChanged(FollowChangedEvent event) {
+        generation.incrementAndGet();
+
+        long followedId;
+        try {
+            followedId = Long.parseLong(event.getFollowedUserId());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid user ID format: {}", event.getFollowedUserId());
+            return;
+        }
+
+        // Atomic per user, so concurrent follow events for the same user cannot overwrite each other
+        cache.asMap().computeIfPresent(event.getUserId(), (userId, followingIds) ->
+                event.isFollowing()
+                        ? SortedLongArrays.insert(followingIds, followedId)
+                        : SortedLongArrays.remove(followingIds, followedId));
+    }
+
+    public void evict(String userId) {
+        generation.incrementAndGet();
+        cache.invalidate(userId);
+    }
+
+    public int size() {
+        return (int) cache.estimatedSize();
+    }
+
+    private long[] load(String userId) {
+        List<String> followedUserIds = followRepository.findAcceptedFollowedUserIds(userId);
+        if (followedUserIds.isEmpty()) {
+            return EMPTY;
+        }
+
+        long[] ids = new long[followedUserIds.size()];
+        int count = 0;
+        for (String followedUserId : followedUserIds) {
+            try {
+                ids[count++] = Long.parseLong(followedUserId);
+            } catch (NumberFormatException e) {
+                count--;
+                log.warn("Invalid user ID format: {}", followedUserId);
+            }
+        }
+
+        return SortedLongArrays.sortedUnique(ids, count);
+    }
+}
@@ -6,11 +6,13 @@ import org.example.socialmedia_services.dto.follow.*;
 import org.example.socialmedia_services.entity.follow.Follow;
 import org.example.socialmedia_services.entity.UserProfile;
 import org.example.socialmedia_services.entity.follow.UserStats;
+import org.example.socialmedia_services.event.FollowChangedEvent;
 import org.example.socialmedia_services.exception.BadRequestException;
 import org.example.socialmedia_services.repository.follow.FollowRepository;
 import org.example.socialmedia_services.repository.UserProfileRepository;
 import org.example.socialmedia_services.repository.follow.UserStatsRepository;
 import org.example.socialmedia_services.services.kafka.KafkaProducerService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -30,6 +32,7 @@ public class FollowService {
     private final UserProfileRepository userProfileRepository;
     private final UserStatsRepository userStatsRepository;
     private final KafkaProducerService kafkaProducerService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Follow createFollow(String followingId, String followerId) {
@@ -100,6 +103,8 @@ public class FollowService {
         incrementUserFollowersCount(currentUserId);
         incrementUserFollowingCount(follow.getFollowingId());
 
+        eventPublisher.publishEvent(FollowChangedEvent.followed(follow.getFollowingId(), currentUserId));
+
         log.info("Follow request accepted: followId={}, followingId={} now follows followerId={}",
                 followId, follow.getFollowingId(), currentUserId);
         return true;
@@ -156,6 +161,8 @@ public class FollowService {
         decrementUserFollowersCount(followerId);
         decrementUserFollowingCount(followingId);
 
+        eventPublisher.publishEvent(FollowChangedEvent.unfollowed(followingId, followerId));
+
         log.info("Unfollowed successfully: followingId={} unfollowed followerId={}", followingId, followerId);
         return true;
     }
@@ -490,25 +497,20 @@ public class FollowService {
     }
 
     private void sendFollowEventToKafka(Long followId, String senderId, String receiverId) {
-        try {
-            // Get sender's profile
-            Optional<UserProfile> senderProfileOpt = userProfileRepository.findActiveByUserId(senderId);
-            if (senderProfileOpt.isEmpty()) {
-                return; // Skip sending event if sender profile not found
-            }
-            UserProfile senderProfile = senderProfileOpt.get();
-
-            // Send Kafka event
-            kafkaProducerService.sendFollowEvent(
-                    followId,
-                    senderId,
-                    receiverId,
-                    senderProfile.getDisplayName(),
-                    senderProfile.getProfileImageUrl()
-            );
-        } catch (Exception e) {
-            // Log but don't fail the follow operation if Kafka event fails
-            // The exception is already logged in KafkaProducerService
+        // Get sender's profile
+        Optional<UserProfile> senderProfileOpt = userProfileRepository.findActiveByUserId(senderId);
+        if (senderProfileOpt.isEmpty()) {
+            return; // Skip sending event if sender profile not found
         }
+        UserProfile senderProfile = senderProfileOpt.get();
+
+        // Send Kafka event
+        kafkaProducerService.sendFollowEvent(
+                followId,
+                senderId,
+                receiverId,
+                senderProfile.getDisplayName(),
+                senderProfile.getProfileImageUrl()
+        );
     }
 }
\ No newline at end of file
@@ -1,82 +1,95 @@
 package org.example.socialmedia_services.services.kafka;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.example.socialmedia_services.entity.outbox.OutboxEvent;
+import org.example.socialmedia_services.repository.outbox.OutboxEventRepository;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Queues notification events for Kafka.
+ * Events are written to outbox_events in the caller's transaction, so they are only published if the
+ * like, comment or follow commits; OutboxRelay sends them to the broker off the request path.
+ * A failed outbox insert is not caught: it rolls back the caller's transaction like any other write.
+ */
 @Service
 @Slf4j
 public class KafkaProducerService {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
     private final ObjectMapper objectMapper;
 
-    public KafkaProducerService(KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper) {
-        this.kafkaTemplate = kafkaTemplate;
+    public KafkaProducerService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
         this.objectMapper = objectMapper;
     }
 
     public void sendLikeEvent(String senderId, String receiverId, String senderName,
                               String senderProfileUrl, String postId, String postName) {
-        try {
-            Map<String, String> eventData = new HashMap<>();
-            eventData.put("senderId", senderId);
-            eventData.put("receiverId", receiverId);
-            eventData.put("senderName", senderName);
-            eventData.put("senderProfileUrl", senderProfileUrl);
-            eventData.put("postId", postId);
-            eventData.put("postName", postName);
+        Map<String, String> eventData = new HashMap<>();
+        eventData.put("senderId", senderId);
+        eventData.put("receiverId", receiverId);
+        eventData.put("senderName", senderName);
+        eventData.put("senderProfileUrl", senderProfileUrl);
+        eventData.put("postId", postId);
+        eventData.put("postName", postName);
 
-            String message = objectMapper.writeValueAsString(eventData);
-            kafkaTemplate.send("like-events", message);
-            log.info("Like event sent: senderId={}, receiverId={}, postId={}", senderId, receiverId, postId);
-        } catch (Exception e) {
-            log.error("Failed to send like event: {}", e.getMessage(), e);
+        if (queue("like-events", eventData)) {
+            log.info("Like event queued: senderId={}, receiverId={}, postId={}", senderId, receiverId, postId);
         }
     }
 
     public void sendCommentEvent(String senderId, String receiverId, String senderName,
                                   String senderProfileUrl, String postId, String postName,
                                   String commentId, String commentText) {
-        try {
-            Map<String, String> eventData = new HashMap<>();
-            eventData.put("senderId", senderId);
-            eventData.put("receiverId", receiverId);
-            eventData.put("senderName", senderName);
-            eventData.put("senderProfileUrl", senderProfileUrl);
-            eventData.put("postId", postId);
-            eventData.put("postName", postName);
-            eventData.put("commentId", commentId);
-            eventData.put("commentText", commentText);
+        Map<String, String> eventData = new HashMap<>();
+        eventData.put("senderId", senderId);
+        eventData.put("receiverId", receiverId);
+        eventData.put("senderName", senderName);
+        eventData.put("senderProfileUrl", senderProfileUrl);
+        eventData.put("postId", postId);
+        eventData.put("postName", postName);
+        eventData.put("commentId", commentId);
+        eventData.put("commentText", commentText);
 
-            String message = objectMapper.writeValueAsString(eventData);
-            kafkaTemplate.send("comment-events", message);
-            log.info("Comment event sent: senderId={}, receiverId={}, postId={}, commentId={}",
+        if (queue("comment-events", eventData)) {
+            log.info("Comment event queued: senderId={}, receiverId={}, postId={}, commentId={}",
                     senderId, receiverId, postId, commentId);
-        } catch (Exception e) {
-            log.error("Failed to send comment event: {}", e.getMessage(), e);
         }
     }
 
     public void sendFollowEvent(Long followId, String senderId, String receiverId, String senderName,
                                 String senderProfileUrl) {
-        try {
-            Map<String, Object> eventData = new HashMap<>();
-            eventData.put("followId", followId);  // Send as Long, not String
-            eventData.put("senderId", senderId);
-            eventData.put("receiverId", receiverId);
-            eventData.put("senderName", senderName);
-            eventData.put("senderProfileUrl", senderProfileUrl);
+        Map<String, Object> eventData = new HashMap<>();
+        eventData.put("followId", followId);  // Send as Long, not String
+        eventData.put("senderId", senderId);
+        eventData.put("receiverId", receiverId);
+        eventData.put("senderName", senderName);
+        eventData.put("senderProfileUrl", senderProfileUrl);
 
-            String message = objectMapper.writeValueAsString(eventData);
-            kafkaTemplate.send("follow-events", message);
-            log.info("Follow event sent: followId={}, senderId={}, receiverId={}", followId, senderId, receiverId);
-        } catch (Exception e) {
-            log.error("Failed to send follow event: {}", e.getMessage(), e);
+        if (queue("follow-events", eventData)) {
+            log.info("Follow event queued: followId={}, senderId={}, receiverId={}", followId, senderId, receiverId);
+        }
+    }
+
+    /**
+     * Serialize the event and insert it into outbox_events in the current transaction
+     *
+     * @return false if the event could not be serialized and was dropped
+     */
+    private boolean queue(String topic, Map<String, ?> eventData) {
+        String message;
+        try {
+            message = objectMapper.writeValueAsString(eventData);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize {} event, dropping it: {}", topic, e.getMessage(), e);
+            return false;
         }
+        outboxEventRepository.save(new OutboxEvent(topic, message));
+        return true;
     }
 }
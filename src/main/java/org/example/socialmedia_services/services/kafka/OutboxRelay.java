@@ -0,0 +1,124 @@
+package org.example.socialmedia_services.services.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.socialmedia_services.entity.outbox.OutboxEvent;
+import org.example.socialmedia_services.repository.outbox.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes outbox_events to Kafka in batches.
+ * Each batch is claimed for app.outbox.relay.lease-seconds in a short transaction, handed to the producer
+ * in one go outside any transaction (linger and compression turn it into a few large requests), and then
+ * deleted once acknowledged. Failed sends stay in the table and are retried; events of a relay that died
+ * mid-batch are claimed again when the lease runs out, so delivery is at-least-once.
+ */
+@Service
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final int maxAttempts;
+    private final long leaseSeconds;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, String> kafkaTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${app.outbox.relay.send-timeout-ms:10000}") long sendTimeoutMs,
+                       @Value("${app.outbox.relay.max-attempts:20}") int maxAttempts,
+                       @Value("${app.outbox.relay.lease-seconds:60}") long leaseSeconds) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.maxAttempts = maxAttempts;
+        this.leaseSeconds = leaseSeconds;
+        this.sentCounter = meterRegistry.counter("outbox.events", "result", "sent");
+        this.failedCounter = meterRegistry.counter("outbox.events", "result", "failed");
+    }
+
+    /**
+     * Publish one batch of pending events
+     *
+     * @return number of events published and removed; equal to the batch size when more may be waiting
+     */
+    public int relayBatch() {
+        List<OutboxEvent> batch = new ArrayList<>(outboxEventRepository.claimNextBatch(maxAttempts, batchSize, leaseSeconds));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        batch.sort(Comparator.comparing(OutboxEvent::getEventId));
+
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            try {
+                sends.add(kafkaTemplate.send(event.getTopic(), event.getPayload()));
+            } catch (Exception e) {
+                sends.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        // All sends share one deadline; a slow broker fails the rest of the batch instead of stacking timeouts
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        List<Long> published = new ArrayList<>(batch.size());
+        List<Long> failed = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                published.add(event.getEventId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.add(event.getEventId());
+            } catch (ExecutionException | TimeoutException e) {
+                failed.add(event.getEventId());
+                if (event.getAttempts() + 1 >= maxAttempts) {
+                    log.error("Giving up on outbox event {} after {} attempts: {}", event, maxAttempts, e.getMessage());
+                } else {
+                    log.warn("Failed to publish outbox event {}: {}", event, e.getMessage());
+                }
+            }
+        }
+
+        if (!published.isEmpty()) {
+            outboxEventRepository.deleteByEventIds(toArrayLiteral(published));
+            sentCounter.increment(published.size());
+        }
+        if (!failed.isEmpty()) {
+            outboxEventRepository.recordFailedAttempt(toArrayLiteral(failed));
+            failedCounter.increment(failed.size());
+        }
+        return published.size();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    private static String toArrayLiteral(List<Long> ids) {
+        StringJoiner literal = new StringJoiner(",", "{", "}");
+        for (Long id : ids) {
+            literal.add(String.valueOf(id));
+        }
+        return literal.toString();
+    }
+}
@@ -4,6 +4,7 @@ import org.example.socialmedia_services.entity.UserProfile;
 import org.example.socialmedia_services.entity.post.Comments;
 import org.example.socialmedia_services.entity.post.Post;
 import org.example.socialmedia_services.entity.post.PostContent;
+import org.example.socialmedia_services.event.PostEngagementEvent;
 import org.example.socialmedia_services.exception.BadRequestException;
 import org.example.socialmedia_services.repository.UserProfileRepository;
 import org.example.socialmedia_services.repository.post.CommentRepository;
@@ -11,6 +12,7 @@ import org.example.socialmedia_services.repository.post.PostContentRepository;
 import org.example.socialmedia_services.repository.post.PostRepository;
 import org.example.socialmedia_services.services.kafka.KafkaProducerService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -39,6 +41,9 @@ public class CommentService {
     @Autowired
     private KafkaProducerService kafkaProducerService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional
     public Comments addComment(Long postId, Long userId, String commentText) {
         try {
@@ -65,8 +70,8 @@ public class CommentService {
             Comments savedComment = commentRepository.save(comment);
 
             // Update comments count
-            post.setCommentsCount(post.getCommentsCount() + 1);
-            postRepository.save(post);
+            postRepository.addCommentsCountDelta(postId, 1);
+            eventPublisher.publishEvent(PostEngagementEvent.comments(postId, userId, 1));
 
             // Send Kafka event for comment
             sendCommentEventToKafka(userId, post, savedComment, userOptional.get());
@@ -117,8 +122,8 @@ public class CommentService {
             Comments savedReplyComment = commentRepository.save(replyComment);
 
             // Update comments count
-            post.setCommentsCount(post.getCommentsCount() + 1);
-            postRepository.save(post);
+            postRepository.addCommentsCountDelta(postId, 1);
+            eventPublisher.publishEvent(PostEngagementEvent.comments(postId, userId, 1));
 
             // Send Kafka event for reply comment
             sendCommentEventToKafka(userId, post, savedReplyComment, userOptional.get());
@@ -158,12 +163,9 @@ public class CommentService {
             // Delete the original comment
             commentRepository.delete(comment);
 
-            // Find the post to update comments count
-            Optional<Post> postOptional = postRepository.findById(comment.getPostId());
-            if (postOptional.isPresent()) {
-                Post post = postOptional.get();
-                post.setCommentsCount(Math.max(0, post.getCommentsCount() - totalDeletedComments));
-                postRepository.save(post);
+            // Update comments count (no row if the post is already gone)
+            if (postRepository.addCommentsCountDelta(comment.getPostId(), -totalDeletedComments) > 0) {
+                eventPublisher.publishEvent(PostEngagementEvent.comments(comment.getPostId(), userId, -totalDeletedComments));
             }
 
             return true;
@@ -279,28 +281,23 @@ public class CommentService {
     }
 
     private void sendCommentEventToKafka(Long senderId, Post post, Comments comment, UserProfile senderProfile) {
-        try {
-            // Get post content for post name
-            String postName = null;
-            PostContent postContent = postContentRepository.findById(post.getPostId()).orElse(null);
-            if (postContent != null && postContent.getJourneyTitle() != null) {
-                postName = postContent.getJourneyTitle();
-            }
-
-            // Send Kafka event
-            kafkaProducerService.sendCommentEvent(
-                    String.valueOf(senderId),
-                    String.valueOf(post.getCreatedById()),
-                    senderProfile.getDisplayName(),
-                    senderProfile.getProfileImageUrl(),
-                    String.valueOf(post.getPostId()),
-                    postName,
-                    String.valueOf(comment.getCommentId()),
-                    comment.getCommentText()
-            );
-        } catch (Exception e) {
-            // Log but don't fail the comment operation if Kafka event fails
-            // The exception is already logged in KafkaProducerService
+        // Get post content for post name
+        String postName = null;
+        PostContent postContent = postContentRepository.findById(post.getPostId()).orElse(null);
+        if (postContent != null && postContent.getJourneyTitle() != null) {
+            postName = postContent.getJourneyTitle();
         }
+
+        // Send Kafka event
+        kafkaProducerService.sendCommentEvent(
+                String.valueOf(senderId),
+                String.valueOf(post.getCreatedById()),
+                senderProfile.getDisplayName(),
+                senderProfile.getProfileImageUrl(),
+                String.valueOf(post.getPostId()),
+                postName,
+                String.valueOf(comment.getCommentId()),
+                comment.getCommentText()
+        );
     }
 }
\ No newline at end of file
@@ -0,0 +1,176 @@
+package org.example.socialmedia_services.services.post;
+
+import jakarta.annotation.PreDestroy;
+import org.example.socialmedia_services.event.PostEngagementEvent;
+import org.example.socialmedia_services.repository.follow.UserStatsRepository;
+import org.example.socialmedia_services.repository.post.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for the denormalized like counters (posts.likes_count and user_stats.likes_count).
+ * post_likes rows remain the source of truth and are still written in the like's own transaction;
+ * the counters are accumulated per post and per user in LongAdders once the like commits, and
+ * LikeCounterFlushScheduler applies them as one batched "likes_count = likes_count + delta" statement
+ * per table. A viral post no longer serializes every like on its row lock.
+ *
+ * Counters are never reset: each keeps the total recorded and the amount already applied, so a like
+ * recorded during a flush is picked up by the next one and a failed flush is simply retried.
+ * Counters idle for a while are dropped to bound memory.
+ *
+ * Database counts lag by up to one flush interval; pending deltas are flushed on shutdown.
+ * Deltas lost with a crashed process are repaired by LikeCounterReconciler, which is opt-in.
+ */
+@Service
+public class LikeCounterBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikeCounterBuffer.class);
+
+    private static final int IDLE_FLUSHES_BEFORE_REMOVAL = 20;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    private final ConcurrentHashMap<Long, PendingCount> postCounts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, PendingCount> userCounts = new ConcurrentHashMap<>();
+
+    /**
+     * Buffer the counter changes of a committed like or unlike
+     */
+    @TransactionalEventListener
+    public void onPostEngagement(PostEngagementEvent event) {
+        if (event.getLikesDelta() == 0) {
+            return;
+        }
+        record(postCounts, event.getPostId(), event.getLikesDelta());
+        if (event.getUserId() != null) {
+            record(userCounts, String.valueOf(event.getUserId()), event.getLikesDelta());
+        }
+    }
+
+    /**
+     * Apply all buffered deltas to the database
+     *
+     * @return number of posts and users whose counters were updated
+     */
+    public synchronized int flush() {
+        int flushed = 0;
+
+        Map<Long, PendingCount> posts = collectPending(postCounts);
+        if (!posts.isEmpty()) {
+            try {
+                postRepository.addLikesCountDeltas(arrayLiteral(posts.keySet()), deltaLiteral(posts));
+                markApplied(posts);
+                flushed += posts.size();
+            } catch (Exception e) {
+                // Nothing is marked applied, so the same deltas are retried on the next flush
+                logger.error("Failed to flush like counts for {} posts: {}", posts.size(), e.getMessage(), e);
+            }
+        }
+
+        Map<String, PendingCount> users = collectPending(userCounts);
+        if (!users.isEmpty()) {
+            try {
+                String userIds = arrayLiteral(users.keySet());
+                userStatsRepository.insertMissing(userIds);
+                userStatsRepository.addLikesCountDeltas(userIds, deltaLiteral(users));
+                markApplied(users);
+                flushed += users.size();
+            } catch (Exception e) {
+                logger.error("Failed to flush like counts for {} users: {}", users.size(), e.getMessage(), e);
+            }
+        }
+        return flushed;
+    }
+
+    /**
+     * Run work while no flush can start, so it sees and sets the database counters without buffered
+     * deltas being applied underneath it
+     */
+    public synchronized void runWithFlushesPaused(Runnable work) {
+        work.run();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int flushed = flush();
+        logger.info("Flushed like counts for {} posts and users on shutdown", flushed);
+    }
+
+    private static <K> void record(ConcurrentHashMap<K, PendingCount> counts, K key, long delta) {
+        // Add under the map's bin lock so it cannot land on a counter that collectPending just removed
+        counts.compute(key, (k, count) -> {
+            PendingCount current = count != null ? count : new PendingCount();
+            current.total.add(delta);
+            return current;
+        });
+    }
+
+    private static <K extends Comparable<K>> Map<K, PendingCount> collectPending(ConcurrentHashMap<K, PendingCount> counts) {
+        // Sorted by key so every flush locks rows in the same order
+        Map<K, PendingCount> pending = new TreeMap<>();
+        for (Map.Entry<K, PendingCount> entry : counts.entrySet()) {
+            PendingCount count = entry.getValue();
+            long delta = count.total.sum() - count.applied;
+            if (delta != 0) {
+                count.flushing = delta;
+                count.idleFlushes = 0;
+                pending.put(entry.getKey(), count);
+            } else if (++count.idleFlushes >= IDLE_FLUSHES_BEFORE_REMOVAL && counts.remove(entry.getKey(), count)) {
+                // A like recorded between the check and the removal moves to a fresh counter
+                long late = count.total.sum() - count.applied;
+                if (late != 0) {
+                    count.applied += late;
+                    record(counts, entry.getKey(), late);
+                }
+            }
+        }
+        return pending;
+    }
+
+    private static void markApplied(Map<?, PendingCount> flushed) {
+        for (PendingCount count : flushed.values()) {
+            count.applied += count.flushing;
+        }
+    }
+
+    // Postgres array literal, e.g. {1,2,3}; keys are numeric IDs so no quoting is needed
+    private static String arrayLiteral(Iterable<?> values) {
+        StringJoiner literal = new StringJoiner(",", "{", "}");
+        for (Object value : values) {
+            literal.add(String.valueOf(value));
+        }
+        return literal.toString();
+    }
+
+    private static String deltaLiteral(Map<?, PendingCount> pending) {
+        StringJoiner literal = new StringJoiner(",", "{", "}");
+        for (PendingCount count : pending.values()) {
+            literal.add(Long.toString(count.flushing));
+        }
+        return literal.toString();
+    }
+
+    /**
+     * Running like delta for one post or user. total is updated by request threads;
+     * applied, flushing and idleFlushes are only touched by the (synchronized) flush.
+     */
+    private static final class PendingCount {
+        private final LongAdder total = new LongAdder();
+        private long applied;
+        private long flushing;
+        private int idleFlushes;
+    }
+}
@@ -0,0 +1,131 @@
+package org.example.socialmedia_services.services.post;
+
+import org.example.socialmedia_services.repository.follow.UserStatsRepository;
+import org.example.socialmedia_services.repository.post.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Recomputes posts.likes_count and user_stats.likes_count from post_likes, repairing deltas that
+ * LikeCounterBuffer lost when a process died without flushing.
+ *
+ * Not run by default: a blind recount double-counts likes that another instance has buffered but
+ * not yet flushed. Enable app.likes.counter.reconcile-on-startup only when this is the sole running
+ * instance (e.g. after a crash, before scaling out again). It runs as a lifecycle phase ahead of the
+ * web server and the schedulers, so no like can be committed and buffered on this instance while it
+ * counts, and it holds a Postgres advisory lock so two instances never reconcile at the same time.
+ * Each post ID range is updated and committed in its own statement, so row locks are held per chunk only.
+ */
+@Service
+public class LikeCounterReconciler implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikeCounterReconciler.class);
+
+    // pg_advisory lock key for the reconcile ("likecnt" in ASCII)
+    private static final long RECONCILE_LOCK_KEY = 0x6C696B65636E74L;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private LikeCounterBuffer likeCounterBuffer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.likes.counter.reconcile-on-startup:false}")
+    private boolean reconcileOnStartup;
+
+    @Value("${app.likes.counter.reconcile-chunk-size:10000}")
+    private int chunkSize;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        running = true;
+        if (!reconcileOnStartup) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (Exception e) {
+            logger.error("Like counter reconcile from post_likes failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Before the web server starts accepting requests
+     */
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+
+    /**
+     * Reset both counters to the number of post_likes rows, in post ID ranges of reconcile-chunk-size,
+     * with this instance's counter flushes paused
+     *
+     * @return false if another instance holds the reconcile lock
+     */
+    public boolean reconcile() {
+        // A session-level lock on a connection of its own, held across the per-chunk transactions
+        Boolean reconciled = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+                logger.info("Like counter reconcile already running on another instance, skipping");
+                return false;
+            }
+            try {
+                likeCounterBuffer.runWithFlushesPaused(this::reconcileChunks);
+                return true;
+            } finally {
+                advisoryLock(connection, "pg_advisory_unlock");
+            }
+        });
+        return Boolean.TRUE.equals(reconciled);
+    }
+
+    private void reconcileChunks() {
+        long maxPostId = postRepository.findMaxPostId();
+        int postsFixed = 0;
+        for (long fromId = 0; fromId < maxPostId; fromId += chunkSize) {
+            postsFixed += postRepository.reconcileLikesCounts(fromId, fromId + chunkSize);
+        }
+        int usersFixed = userStatsRepository.reconcileLikesCounts();
+        logger.info("Like counter reconcile from post_likes corrected {} posts and {} users", postsFixed, usersFixed);
+    }
+
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + function + "(?)")) {
+            statement.setLong(1, RECONCILE_LOCK_KEY);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+}
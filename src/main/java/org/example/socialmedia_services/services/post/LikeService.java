@@ -1,13 +1,13 @@
 package org.example.socialmedia_services.services.post;
 
+import jakarta.annotation.PostConstruct;
 import org.example.socialmedia_services.entity.UserProfile;
-import org.example.socialmedia_services.entity.follow.UserStats;
 import org.example.socialmedia_services.entity.post.Likes;
 import org.example.socialmedia_services.entity.post.Post;
 import org.example.socialmedia_services.entity.post.PostContent;
+import org.example.socialmedia_services.event.PostEngagementEvent;
 import org.example.socialmedia_services.exception.BadRequestException;
 import org.example.socialmedia_services.repository.UserProfileRepository;
-import org.example.socialmedia_services.repository.follow.UserStatsRepository;
 import org.example.socialmedia_services.repository.post.LikeRepository;
 import org.example.socialmedia_services.repository.post.PostContentRepository;
 import org.example.socialmedia_services.repository.post.PostRepository;
@@ -15,10 +15,12 @@ import org.example.socialmedia_services.services.kafka.KafkaProducerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.*;
 
 @Service
 public class LikeService {
@@ -38,14 +40,46 @@ public class LikeService {
     private UserProfileRepository userProfileRepository;
 
     @Autowired
-    private UserStatsRepository userStatsRepository;
+    private KafkaProducerService kafkaProducerService;
 
     @Autowired
-    private KafkaProducerService kafkaProducerService;
+    private LikedPostsCache likedPostsCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.likes.atomic-toggle:false}")
+    private boolean atomicToggle;
+
+    /**
+     * The atomic toggle needs the uk_like_post_user unique index; without it a double tap
+     * stores two likes, so fall back to the read-then-write path until the migration has run
+     */
+    @PostConstruct
+    void checkAtomicToggleSupported() {
+        if (!atomicToggle) {
+            return;
+        }
+        try {
+            if (!likeRepository.hasPostUserUniqueIndex()) {
+                logger.warn("app.likes.atomic-toggle is enabled but post_likes has no uk_like_post_user index "
+                        + "(db/migration/ADD_UNIQUE_POST_LIKES.sql); using the read-then-write toggle");
+                atomicToggle = false;
+            }
+        } catch (Exception e) {
+            logger.warn("Could not check post_likes for uk_like_post_user, using the read-then-write toggle: {}",
+                    e.getMessage());
+            atomicToggle = false;
+        }
+    }
 
     @Transactional
     public boolean toggleLike(Long postId, Long userId) {
         try {
+            if (atomicToggle) {
+                return toggleLikeAtomically(postId, userId);
+            }
+
             // Check if post exists
             Optional<Post> postOptional = postRepository.findById(postId);
             if (postOptional.isEmpty()) {
@@ -60,12 +94,8 @@ public class LikeService {
                 // User has already liked - remove the like (unlike)
                 likeRepository.delete(existingLike.get());
 
-                // Update post likes count
-                post.setLikesCount(post.getLikesCount() - 1);
-                postRepository.save(post);
-
-                // Decrement user's likes count in user_stats
-                decrementUserLikesCount(userId);
+                // posts.likes_count and user_stats.likes_count are applied after commit by LikeCounterBuffer
+                eventPublisher.publishEvent(PostEngagementEvent.likes(postId, userId, -1));
 
                 return false; // Unlike action
             } else {
@@ -73,12 +103,8 @@ public class LikeService {
                 Likes newLike = new Likes(postId, userId);
                 likeRepository.save(newLike);
 
-                // Update post likes count
-                post.setLikesCount(post.getLikesCount() + 1);
-                postRepository.save(post);
-
-                // Increment user's likes count in user_stats
-                incrementUserLikesCount(userId);
+                // posts.likes_count and user_stats.likes_count are applied after commit by LikeCounterBuffer
+                eventPublisher.publishEvent(PostEngagementEvent.likes(postId, userId, 1));
 
                 // Send Kafka event for like (only when liking, not unliking)
                 sendLikeEventToKafka(userId, post);
@@ -93,123 +119,100 @@ public class LikeService {
         }
     }
 
-    public boolean isPostLikedByUser(Long postId, Long userId) {
-        try {
-            return likeRepository.existsByPostIdAndUserId(postId, userId);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to check like status", e);
+    /**
+     * Toggle with a single statement (LikeRepository.toggle) instead of read-then-write.
+     * A double tap resolves on the (post_id, user_id) unique constraint: the second insert waits
+     * for the first and does nothing, so the like is stored and counted once.
+     */
+    private boolean toggleLikeAtomically(Long postId, Long userId) {
+        Long delta = likeRepository.toggle(postId, userId);
+        if (delta == null) {
+            throw new BadRequestException("Post not found");
+        }
+        if (delta == 0) {
+            // A concurrent request liked the post first - it is liked either way
+            return true;
         }
-    }
 
-    public Long getLikesCount(Long postId) {
-        try {
-            // Check if post exists
-            Optional<Post> postOptional = postRepository.findById(postId);
-            if (postOptional.isEmpty()) {
-                throw new BadRequestException("Post not found");
-            }
+        // posts.likes_count and user_stats.likes_count are applied after commit by LikeCounterBuffer
+        eventPublisher.publishEvent(PostEngagementEvent.likes(postId, userId, delta.intValue()));
 
-            return likeRepository.countByPostId(postId);
-        } catch (BadRequestException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to get likes count", e);
+        if (delta > 0) {
+            // Send Kafka event for like (only when liking, not unliking)
+            postRepository.findById(postId).ifPresent(post -> sendLikeEventToKafka(userId, post));
+            return true;
         }
+        return false;
     }
 
-    /**
-     * Ensures UserStats record exists for the user, creates if doesn't exist
-     */
-    private void ensureUserStatsExists(String userId) {
+    public boolean isPostLikedByUser(Long postId, Long userId) {
         try {
-            if (!userStatsRepository.existsByUserId(userId)) {
-                logger.info("Creating UserStats record for userId: {}", userId);
-                UserStats newStats = new UserStats(userId);
-                userStatsRepository.save(newStats);
-                logger.info("UserStats record created successfully for userId: {}", userId);
-            }
+            return likedPostsCache.isLiked(userId, postId);
         } catch (Exception e) {
-            logger.error("Failed to ensure UserStats exists for userId: {}", userId, e);
-            throw new RuntimeException("Failed to create user stats", e);
+            throw new RuntimeException("Failed to check like status", e);
         }
     }
 
     /**
-     * Increment likes count for a user with proper error handling
+     * Like state of each given post for the user, in request order, from LikedPostsCache
      */
-    private void incrementUserLikesCount(Long userId) {
+    public Map<Long, Boolean> getLikeStatuses(List<Long> postIds, Long userId) {
         try {
-            String userIdStr = String.valueOf(userId);
-
-            // Ensure user stats record exists
-            ensureUserStatsExists(userIdStr);
-
-            // Increment the count
-            int rowsUpdated = userStatsRepository.incrementLikes(userIdStr);
-
-            if (rowsUpdated > 0) {
-                logger.info("Successfully incremented likes count for userId: {}", userId);
-            } else {
-                logger.warn("No rows updated when incrementing likes for userId: {}", userId);
+            Set<Long> distinctPostIds = new LinkedHashSet<>(postIds);
+            distinctPostIds.remove(null);
+            Set<Long> likedPostIds = distinctPostIds.isEmpty()
+                    ? Collections.emptySet()
+                    : likedPostsCache.likedAmong(userId, distinctPostIds);
+
+            Map<Long, Boolean> statuses = new LinkedHashMap<>();
+            for (Long postId : distinctPostIds) {
+                statuses.put(postId, likedPostIds.contains(postId));
             }
+            return statuses;
         } catch (Exception e) {
-            logger.error("Failed to increment likes count for userId: {}", userId, e);
-            // Don't throw - we don't want to fail the like action if stats update fails
+            throw new RuntimeException("Failed to check like status", e);
         }
     }
 
-    /**
-     * Decrement likes count for a user with proper error handling
-     */
-    private void decrementUserLikesCount(Long userId) {
+    public Long getLikesCount(Long postId) {
         try {
-            String userIdStr = String.valueOf(userId);
-
-            // Ensure user stats record exists
-            ensureUserStatsExists(userIdStr);
-
-            // Decrement the count
-            int rowsUpdated = userStatsRepository.decrementLikes(userIdStr);
-
-            if (rowsUpdated > 0) {
-                logger.info("Successfully decremented likes count for userId: {}", userId);
-            } else {
-                logger.warn("No rows updated when decrementing likes for userId: {}", userId);
+            // Check if post exists
+            Optional<Post> postOptional = postRepository.findById(postId);
+            if (postOptional.isEmpty()) {
+                throw new BadRequestException("Post not found");
             }
+
+            return likeRepository.countByPostId(postId);
+        } catch (BadRequestException e) {
+            throw e;
         } catch (Exception e) {
-            logger.error("Failed to decrement likes count for userId: {}", userId, e);
-            // Don't throw - we don't want to fail the unlike action if stats update fails
+            throw new RuntimeException("Failed to get likes count", e);
         }
     }
 
     private void sendLikeEventToKafka(Long senderId, Post post) {
-        try {
-            // Get sender's profile
-            Optional<UserProfile> senderProfileOpt = userProfileRepository.findActiveByUserId(String.valueOf(senderId));
-            if (senderProfileOpt.isEmpty()) {
-                return; // Skip sending event if sender profile not found
-            }
-            UserProfile senderProfile = senderProfileOpt.get();
-
-            // Get post content for post name
-            String postName = null;
-            PostContent postContent = postContentRepository.findById(post.getPostId()).orElse(null);
-            if (postContent != null && postContent.getJourneyTitle() != null) {
-                postName = postContent.getJourneyTitle();
-            }
+        // Get sender's profile
+        Optional<UserProfile> senderProfileOpt = userProfileRepository.findActiveByUserId(String.valueOf(senderId));
+        if (senderProfileOpt.isEmpty()) {
+            return; // Skip sending event if sender profile not found
+        }
+        UserProfile senderProfile = senderProfileOpt.get();
 
-            // Send Kafka event
-            kafkaProducerService.sendLikeEvent(
-                    String.valueOf(senderId),
-                    String.valueOf(post.getCreatedById()),
-                    senderProfile.getDisplayName(),
-                    senderProfile.getProfileImageUrl(),
-                    String.valueOf(post.getPostId()),
-                    postName
-            );
-        } catch (Exception e) {
-            // Log but don't fail the like operation if Kafka event fails
-            // The exception is already logged in KafkaProducerService
+        // Get post content for post name
+        String postName = null;
+        PostContent postContent = postContentRepository.findById(post.getPostId()).orElse(null);
+        if (postContent != null && postContent.getJourneyTitle() != null) {
+            postName = postContent.getJourneyTitle();
         }
+
+        // Send Kafka event
+        kafkaProducerService.sendLikeEvent(
+                String.valueOf(senderId),
+                String.valueOf(post.getCreatedById()),
+                senderProfile.getDisplayName(),
+                senderProfile.getProfileImageUrl(),
+                String.valueOf(post.getPostId()),
+                postName
+        );
     }
 }
@@ -0,0 +1,143 @@
+package org.example.socialmedia_services.services.post;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.socialmedia_services.cache.SortedLongArrays;
+import org.example.socialmedia_services.event.PostEngagementEvent;
+import org.example.socialmedia_services.repository.post.LikeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user set of liked post IDs as a sorted long[] (binary-searchable, no boxing), so
+ * "has the viewer liked this post?" is answered from memory. Loaded from post_likes on first use
+ * and updated after each committed like or unlike. Arrays handed out are never mutated.
+ *
+ * The cache is bounded by total bytes (LRU-ish eviction by Caffeine with a weigher), not by user count.
+ * Users with more than app.likes.cache.max-likes-per-user likes are not cached; their lookups go
+ * to the database as before. Metrics are published as cache.* with cache=likedPosts.
+ *
+ * Only likes committed on this instance reach onPostEngagement, so entries expire a fixed time after
+ * they were loaded (local updates do not extend it) and likes made through other instances show up
+ * within app.likes.cache.expire-after-load-seconds.
+ */
+@Component
+public class LikedPostsCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikedPostsCache.class);
+
+    private static final long[] EMPTY = new long[0];
+    // Marker for users with too many likes to cache (compared by identity)
+    private static final long[] TOO_MANY = new long[0];
+    // Rough per-entry cost of the key, the array header and Caffeine's node
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final LikeRepository likeRepository;
+    private final Cache<Long, long[]> cache;
+    private final int maxLikesPerUser;
+
+    // Bumped on every like change; a load that raced with a change is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public LikedPostsCache(LikeRepository likeRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.likes.cache.max-bytes:33554432}") long maxBytes,
+                           @Value("${app.likes.cache.max-likes-per-user:20000}") int maxLikesPerUser,
+                           @Value("${app.likes.cache.expire-after-load-seconds:300}") long expireAfterLoadSeconds) {
+        this.likeRepository = likeRepository;
+        this.maxLikesPerUser = maxLikesPerUser;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long userId, long[] postIds) -> ENTRY_OVERHEAD_BYTES + postIds.length * Long.BYTES)
+                .expireAfter(Expiry.creating((Long userId, long[] postIds) -> Duration.ofSeconds(expireAfterLoadSeconds)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "likedPosts");
+    }
+
+    public boolean isLiked(Long userId, Long postId) {
+        long[] likedPostIds = likedPostIds(userId);
+        if (likedPostIds == TOO_MANY) {
+            return likeRepository.existsByPostIdAndUserId(postId, userId);
+        }
+        return Arrays.binarySearch(likedPostIds, postId) >= 0;
+    }
+
+    /**
+     * The subset of the given posts that the user has liked
+     */
+    public Set<Long> likedAmong(Long userId, Collection<Long> postIds) {
+        long[] likedPostIds = likedPostIds(userId);
+        if (likedPostIds == TOO_MANY) {
+            return new HashSet<>(likeRepository.findLikedPostIds(userId, postIds));
+        }
+
+        Set<Long> liked = new HashSet<>();
+        for (Long postId : postIds) {
+            if (postId != null && Arrays.binarySearch(likedPostIds, postId) >= 0) {
+                liked.add(postId);
+            }
+        }
+        return liked;
+    }
+
+    @TransactionalEventListener
+    public void onPostEngagement(PostEngagementEvent event) {
+        if (event.getLikesDelta() == 0 || event.getUserId() == null) {
+            return;
+        }
+        generation.incrementAndGet();
+
+        long postId = event.getPostId();
+        cache.asMap().computeIfPresent(event.getUserId(), (userId, likedPostIds) -> {
+            if (likedPostIds == TOO_MANY) {
+                return likedPostIds;
+            }
+            return event.getLikesDelta() > 0
+                    ? SortedLongArrays.insert(likedPostIds, postId)
+                    : SortedLongArrays.remove(likedPostIds, postId);
+        });
+    }
+
+    private long[] likedPostIds(Long userId) {
+        long[] cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadGeneration = generation.get();
+        long[] loaded = load(userId);
+        if (generation.get() == loadGeneration) {
+            cache.put(userId, loaded);
+        }
+        return loaded;
+    }
+
+    private long[] load(Long userId) {
+        List<Long> postIds = likeRepository.findPostIdsByUserId(userId, PageRequest.of(0, maxLikesPerUser + 1));
+        if (postIds.isEmpty()) {
+            return EMPTY;
+        }
+        if (postIds.size() > maxLikesPerUser) {
+            logger.debug("User {} has more than {} likes, not caching liked posts", userId, maxLikesPerUser);
+            return TOO_MANY;
+        }
+
+        long[] ids = new long[postIds.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = postIds.get(i);
+        }
+        return SortedLongArrays.sortedUnique(ids, ids.length);
+    }
+}
@@ -8,8 +8,11 @@ import org.example.socialmedia_services.entity.User;
 import org.example.socialmedia_services.entity.post.PlaceWiseContent;
 import org.example.socialmedia_services.entity.post.Post;
 import org.example.socialmedia_services.entity.post.PostContent;
+import org.example.socialmedia_services.event.PostCreatedEvent;
+import org.example.socialmedia_services.event.PostDeletedEvent;
 import org.example.socialmedia_services.exception.BadRequestException;
 import org.example.socialmedia_services.repository.UserRepo;
+import org.example.socialmedia_services.repository.feed.FeedTimelineRepository;
 import org.example.socialmedia_services.repository.follow.UserStatsRepository;
 import org.example.socialmedia_services.repository.post.CommentRepository;
 import org.example.socialmedia_services.repository.post.LikeRepository;
@@ -17,6 +20,7 @@ import org.example.socialmedia_services.repository.post.PlaceWiseContentReposito
 import org.example.socialmedia_services.repository.post.PostContentRepository;
 import org.example.socialmedia_services.repository.post.PostRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -49,6 +53,12 @@ public class PostService {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private FeedTimelineRepository feedTimelineRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional
     public GetPostResponse createPost(PostContentRequest request, Long userId) {
         try {
@@ -82,6 +92,7 @@ public class PostService {
 
             // Create and save place wise content entries
             List<PlaceWiseContentDto> placeWiseContentDtos = new ArrayList<>();
+            List<PlaceWiseContent> savedPlaceContents = new ArrayList<>();
 
             if (request.getPlaceWiseContent() != null && !request.getPlaceWiseContent().isEmpty()) {
                 int sequenceOrder = 1;
@@ -100,12 +111,16 @@ public class PostService {
 
                     // Save each place wise content separately
                     PlaceWiseContent savedPlaceContent = placeWiseContentRepository.save(placeContent);
+                    savedPlaceContents.add(savedPlaceContent);
                     placeWiseContentDtos.add(convertToDto(savedPlaceContent));
                 }
             }
 
             // Note: We don't set postContent on savedPost anymore since it's not a JPA relationship
 
+            // Fan out to follower timelines and cache ranking features once this transaction commits
+            eventPublisher.publishEvent(new PostCreatedEvent(savedPost, savedPlaceContents));
+
             // Create and return response
             GetPostResponse response = new GetPostResponse();
             response.setPostId(savedPost.getPostId());
@@ -163,18 +178,23 @@ public class PostService {
             // 3. Delete all place wise content for this post
             placeWiseContentRepository.deleteByPostId(postId);
 
-            // 4. Delete post content (must be deleted before post due to foreign key)
+            // 4. Remove the post from follower timelines
+            feedTimelineRepository.deleteByPostId(postId);
+
+            // 5. Delete post content (must be deleted before post due to foreign key)
             PostContent postContent = postContentRepository.findById(postId).orElse(null);
             if (postContent != null) {
                 postContentRepository.delete(postContent);
             }
 
-            // 5. Delete the post itself
+            // 6. Delete the post itself
             postRepository.delete(post);
 
-            // 6. Decrement user's post count
+            // 7. Decrement user's post count
             userStatsRepo.decrementPosts(String.valueOf(userId));
 
+            eventPublisher.publishEvent(new PostDeletedEvent(postId, userId));
+
             return true;
 
         } catch (BadRequestException e) {
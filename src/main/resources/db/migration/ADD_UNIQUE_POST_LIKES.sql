@@ -0,0 +1,39 @@
+-- ============================================================================
+-- Enforce one like per user and post on post_likes
+-- Required by the single-statement like toggle (INSERT ... ON CONFLICT (post_id, user_id)).
+-- Run this BEFORE deploying with app.likes.atomic-toggle=true on an existing database.
+-- ============================================================================
+
+-- Step 1: Remove duplicate likes left by double taps, keeping the oldest row
+DELETE FROM post_likes pl
+USING post_likes older
+WHERE pl.post_id = older.post_id
+  AND pl.user_id = older.user_id
+  AND pl.like_id > older.like_id;
+
+-- Step 2: Build the unique index without blocking likes
+-- (CONCURRENTLY cannot run inside a transaction block - run this statement on its own)
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_like_post_user ON post_likes (post_id, user_id);
+
+-- Step 3: Attach it as the named constraint (not declared on the Likes entity, so Hibernate leaves it alone)
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint WHERE conname = 'uk_like_post_user'
+    ) THEN
+        ALTER TABLE post_likes ADD CONSTRAINT uk_like_post_user UNIQUE USING INDEX uk_like_post_user;
+    END IF;
+END $$;
+
+-- Step 4: The old non-unique (post_id, user_id) index is now redundant
+DROP INDEX IF EXISTS idx_like_post_user;
+
+-- Step 5: Verify - should return no rows
+SELECT post_id, user_id, COUNT(*)
+FROM post_likes
+GROUP BY post_id, user_id
+HAVING COUNT(*) > 1;
+
+-- Step 1 leaves posts.likes_count and user_stats.likes_count counting the removed duplicates.
+-- They are NOT recomputed automatically: start one instance (no others running) with
+-- app.likes.counter.reconcile-on-startup=true to recompute both from post_likes, then set it back to false.
@@ -0,0 +1,50 @@
+package org.example.socialmedia_services.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SortedLongArraysTest {
+
+    @Test
+    void sortedUniqueSortsAndDropsDuplicatesWithinCount() {
+        long[] ids = {5, 3, 5, 1, 99};
+
+        assertThat(SortedLongArrays.sortedUnique(ids, 4)).containsExactly(1, 3, 5);
+    }
+
+    @Test
+    void sortedUniqueReusesTheArrayWhenNothingIsDropped() {
+        long[] ids = {3, 1, 2};
+
+        assertThat(SortedLongArrays.sortedUnique(ids, 3)).isSameAs(ids).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void insertKeepsOrderAndDoesNotModifyTheInput() {
+        long[] ids = {1, 5, 9};
+
+        assertThat(SortedLongArrays.insert(ids, 0)).containsExactly(0, 1, 5, 9);
+        assertThat(SortedLongArrays.insert(ids, 7)).containsExactly(1, 5, 7, 9);
+        assertThat(SortedLongArrays.insert(ids, 10)).containsExactly(1, 5, 9, 10);
+        assertThat(ids).containsExactly(1, 5, 9);
+    }
+
+    @Test
+    void insertOrRemoveWithoutChangeReturnsTheSameArray() {
+        long[] ids = {1, 5, 9};
+
+        assertThat(SortedLongArrays.insert(ids, 5)).isSameAs(ids);
+        assertThat(SortedLongArrays.remove(ids, 4)).isSameAs(ids);
+    }
+
+    @Test
+    void removeDropsTheId() {
+        long[] ids = {1, 5, 9};
+
+        assertThat(SortedLongArrays.remove(ids, 1)).containsExactly(5, 9);
+        assertThat(SortedLongArrays.remove(ids, 5)).containsExactly(1, 9);
+        assertThat(SortedLongArrays.remove(new long[]{9}, 9)).isEmpty();
+        assertThat(ids).containsExactly(1, 5, 9);
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.socialmedia_services.services.feed;
+
+import org.example.socialmedia_services.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChronologicalCursorTest {
+
+    @Test
+    void encodeDecodeRoundTripsExactly() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_238);
+        ChronologicalCursor cursor = new ChronologicalCursor(createdAt, 4242L);
+
+        ChronologicalCursor decoded = ChronologicalCursor.decode(cursor.encode());
+
+        assertThat(decoded.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(decoded.getPostId()).isEqualTo(4242L);
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new ChronologicalCursor(LocalDateTime.of(2025, 1, 1, 0, 0), Long.MAX_VALUE).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rankedFeedCursorIsRejected() {
+        String rankedToken = new FeedCursor("snapshot", 20, 12.5, 7L).encode();
+
+        assertThatThrownBy(() -> ChronologicalCursor.decode(rankedToken)).isInstanceOf(BadRequestException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "c2:1700000000:0:5",         // unknown version
+            "c1:1700000000:0",           // missing post ID
+            "c1:1700000000:0:5:9",       // extra field
+            "c1:abc:0:5",                // non-numeric seconds
+            "c1:1700000000:0:five",      // non-numeric post ID
+            "c1:1700000000:1000000000:5", // nanos out of range
+            "c1:99999999999999999:0:5"   // year out of range
+    })
+    void tamperedTokensAreRejected(String raw) {
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> ChronologicalCursor.decode(token)).isInstanceOf(BadRequestException.class);
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"not base64!", "YzE6"})
+    void malformedTokensAreRejected(String token) {
+        assertThatThrownBy(() -> ChronologicalCursor.decode(token)).isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.socialmedia_services.services.feed;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DiversityRerankerTest {
+
+    private static final long A = 1L;
+    private static final long B = 2L;
+    private static final long C = 3L;
+
+    @Test
+    void sameCreatorWithinWindowIsPushedDown() {
+        DiversityReranker reranker = new DiversityReranker(true, 5, 8, 1.5, 1.0);
+        PostRankingFeatures[] features = {post(A, 0), post(A, 0), post(B, 0)};
+        double[] scores = {10.0, 9.5, 9.0};
+
+        assertThat(reranker.rerank(new int[]{0, 1, 2}, scores, features)).containsExactly(0, 2, 1);
+    }
+
+    @Test
+    void penaltyOnlyCountsPostsInsideTheWindow() {
+        PostRankingFeatures[] features = {post(A, 0), post(B, 0), post(A, 0), post(C, 0)};
+        double[] scores = {10.0, 9.0, 8.9, 8.8};
+        int[] ranked = {0, 1, 2, 3};
+
+        // Window 1: the earlier A is out of reach when position 2 is filled
+        assertThat(new DiversityReranker(true, 1, 8, 1.5, 1.0).rerank(ranked, scores, features))
+                .containsExactly(0, 1, 2, 3);
+        // Window 2: it is still in the window, so C goes first
+        assertThat(new DiversityReranker(true, 2, 8, 1.5, 1.0).rerank(ranked, scores, features))
+                .containsExactly(0, 1, 3, 2);
+    }
+
+    @Test
+    void penaltiesAccumulatePerMatchingPost() {
+        DiversityReranker reranker = new DiversityReranker(true, 5, 8, 1.5, 1.0);
+        PostRankingFeatures[] features = {post(A, 0), post(A, 0), post(A, 0), post(B, 0)};
+        // Third A: 8.5 - 2 * 1.5 = 5.5 loses to B at 6.0; second A: 9.0 - 1.5 = 7.5 still wins
+        double[] scores = {10.0, 9.0, 8.5, 6.0};
+
+        assertThat(reranker.rerank(new int[]{0, 1, 2, 3}, scores, features)).containsExactly(0, 1, 3, 2);
+    }
+
+    @Test
+    void lookaheadLimitsHowFarAPostCanMoveUp() {
+        PostRankingFeatures[] features = {post(A, 0), post(A, 0), post(A, 0), post(B, 0)};
+        double[] scores = {10.0, 9.0, 8.0, 7.0};
+        int[] ranked = {0, 1, 2, 3};
+
+        assertThat(new DiversityReranker(true, 5, 8, 5.0, 1.0).rerank(ranked, scores, features))
+                .containsExactly(0, 3, 1, 2);
+        // With lookahead 2, B is not a candidate until position 2
+        assertThat(new DiversityReranker(true, 5, 2, 5.0, 1.0).rerank(ranked, scores, features))
+                .containsExactly(0, 1, 3, 2);
+    }
+
+    @Test
+    void sameDestinationIsPenalizedAcrossCreators() {
+        DiversityReranker reranker = new DiversityReranker(true, 5, 8, 1.5, 1.0);
+        PostRankingFeatures[] features = {post(A, 42), post(B, 42), post(C, 7)};
+        double[] scores = {10.0, 9.5, 9.0};
+
+        assertThat(reranker.rerank(new int[]{0, 1, 2}, scores, features)).containsExactly(0, 2, 1);
+    }
+
+    @Test
+    void postsWithoutDestinationOrFeaturesAreNotPenalized() {
+        DiversityReranker reranker = new DiversityReranker(true, 5, 8, 1.5, 1.0);
+        PostRankingFeatures[] features = {post(A, 0), null, post(B, 0), post(C, 0)};
+        double[] scores = {10.0, 9.5, 9.0, 8.5};
+
+        assertThat(reranker.rerank(new int[]{0, 1, 2, 3}, scores, features)).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    void blockSizeKeepsPostsWithinTheirBlock() {
+        DiversityReranker reranker = new DiversityReranker(true, 5, 8, 1.5, 1.0);
+        PostRankingFeatures[] features = {post(A, 0), post(A, 0), post(B, 0), post(C, 0)};
+        double[] scores = {10.0, 9.5, 9.0, 8.5};
+        int[] ranked = {0, 1, 2, 3};
+
+        assertThat(reranker.rerank(ranked, scores, features)).containsExactly(0, 2, 3, 1);
+        // Blocks of 2: B and C cannot move up into the first block
+        assertThat(reranker.rerank(ranked, scores, features, 2)).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    void rerankDoesNotModifyItsInputs() {
+        DiversityReranker reranker = new DiversityReranker(true, 5, 8, 1.5, 1.0);
+        PostRankingFeatures[] features = {post(A, 0), post(A, 0), post(B, 0)};
+        double[] scores = {10.0, 9.5, 9.0};
+        int[] ranked = {0, 1, 2};
+
+        reranker.rerank(ranked, scores, features);
+
+        assertThat(ranked).containsExactly(0, 1, 2);
+        assertThat(scores).containsExactly(10.0, 9.5, 9.0);
+    }
+
+    @Test
+    void rejectsEmptyWindowOrLookahead() {
+        assertThatThrownBy(() -> new DiversityReranker(true, 0, 8, 1.5, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new DiversityReranker(true, 5, 0, 1.5, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static PostRankingFeatures post(long creatorId, int destinationKey) {
+        return new PostRankingFeatures(creatorId * 100, creatorId, 0L, true,
+                new long[0], new long[0], destinationKey, 0, 0);
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.socialmedia_services.services.feed;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.socialmedia_services.dto.feed.FeedPostDTO;
+import org.example.socialmedia_services.entity.UserProfile;
+import org.example.socialmedia_services.entity.post.Likes;
+import org.example.socialmedia_services.entity.post.PlaceWiseContent;
+import org.example.socialmedia_services.entity.post.Post;
+import org.example.socialmedia_services.entity.post.PostContent;
+import org.example.socialmedia_services.repository.post.PostRepository;
+import org.example.socialmedia_services.services.post.LikedPostsCache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the JDBC statements Hibernate really prepares while hydrating a page, so lazy loading or
+ * per-row queries show up as a failure. Runs against Postgres (jsonb columns, native array queries).
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({FeedPageHydrator.class, FeedMetrics.class, LikedPostsCache.class,
+        FeedPageHydratorQueryCountTest.MetricsConfig.class})
+class FeedPageHydratorQueryCountTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private FeedPageHydrator feedPageHydrator;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 100})
+    void hydratePreparesTheSameStatementsForAnyPageSize(int pageSize) {
+        // A fresh viewer per run, so their liked posts are never already cached
+        long viewerId = 9000L + pageSize;
+        List<Long> postIds = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            long creatorId = 1000L + i;
+            entityManager.persist(UserProfile.builder()
+                    .userId(String.valueOf(creatorId))
+                    .displayName("Creator " + i)
+                    .build());
+
+            Post post = new Post();
+            post.setCreatedById(creatorId);
+            entityManager.persist(post);
+            postIds.add(post.getPostId());
+
+            PostContent content = new PostContent();
+            content.setPostId(post.getPostId());
+            content.setJourneyTitle("Trip " + i);
+            content.setPlacesVisited(List.of("Ella", "Kandy"));
+            entityManager.persist(content);
+
+            for (int order = 1; order <= 2; order++) {
+                PlaceWiseContent place = new PlaceWiseContent(post.getPostId(), "Place " + order);
+                place.setSequenceOrder(order);
+                place.setActivities(List.of("hiking"));
+                entityManager.persist(place);
+            }
+
+            if (i % 2 == 0) {
+                Likes like = new Likes();
+                like.setPostId(post.getPostId());
+                like.setUserId(viewerId);
+                entityManager.persist(like);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Post> posts = postRepository.findAllById(postIds);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<FeedPostDTO> dtos = feedPageHydrator.hydrate(posts, Collections.emptyMap(), String.valueOf(viewerId));
+
+        assertThat(dtos).hasSize(pageSize);
+        assertThat(dtos).allSatisfy(dto -> {
+            assertThat(dto.getJourneyTitle()).startsWith("Trip ");
+            assertThat(dto.getPlaceWiseContent()).hasSize(2);
+        });
+        assertThat(dtos).filteredOn(dto -> Boolean.TRUE.equals(dto.getIsLikedByUser())).hasSize((pageSize + 1) / 2);
+        // Creators, post content, place-wise content and the viewer's liked post IDs
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.socialmedia_services.services.feed;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.socialmedia_services.dto.feed.FeedPostDTO;
+import org.example.socialmedia_services.entity.post.PlaceWiseContent;
+import org.example.socialmedia_services.entity.post.Post;
+import org.example.socialmedia_services.entity.post.PostContent;
+import org.example.socialmedia_services.repository.UserProfileRepository;
+import org.example.socialmedia_services.repository.post.PlaceWiseContentRepository;
+import org.example.socialmedia_services.repository.post.PostContentRepository;
+import org.example.socialmedia_services.services.post.LikedPostsCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeedPageHydratorTest {
+
+    @Mock
+    private UserProfileRepository userProfileRepository;
+
+    @Mock
+    private PostContentRepository postContentRepository;
+
+    @Mock
+    private PlaceWiseContentRepository placeWiseContentRepository;
+
+    @Mock
+    private LikedPostsCache likedPostsCache;
+
+    @Spy
+    private FeedMetrics feedMetrics = new FeedMetrics(new SimpleMeterRegistry(), 0.0, 10);
+
+    @InjectMocks
+    private FeedPageHydrator feedPageHydrator;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 100})
+    void hydrateIssuesOneQueryPerRepositoryRegardlessOfPageSize(int pageSize) {
+        List<Post> posts = new ArrayList<>();
+        for (long i = 1; i <= pageSize; i++) {
+            posts.add(post(i, 100L + i));
+        }
+
+        when(userProfileRepository.findActiveDisplayInfoByUserIds(anyCollection())).thenReturn(Collections.emptyList());
+        when(postContentRepository.findAllById(anyIterable())).thenReturn(Collections.emptyList());
+        when(placeWiseContentRepository.findByPostIdInOrderBySequenceOrderAsc(anyCollection())).thenReturn(Collections.emptyList());
+        when(likedPostsCache.likedAmong(eq(7L), anyCollection())).thenReturn(Collections.emptySet());
+
+        List<FeedPostDTO> dtos = feedPageHydrator.hydrate(posts, Collections.emptyMap(), "7");
+
+        assertThat(dtos).hasSize(pageSize);
+        verify(userProfileRepository, times(1)).findActiveDisplayInfoByUserIds(anyCollection());
+        verify(postContentRepository, times(1)).findAllById(anyIterable());
+        verify(placeWiseContentRepository, times(1)).findByPostIdInOrderBySequenceOrderAsc(anyCollection());
+        verify(likedPostsCache, times(1)).likedAmong(eq(7L), anyCollection());
+        verifyNoMoreInteractions(userProfileRepository, postContentRepository, placeWiseContentRepository, likedPostsCache);
+    }
+
+    @Test
+    void hydrateAssemblesCreatorContentPlacesAndLikesInPageOrder() {
+        Post first = post(2L, 20L);
+        Post second = post(1L, 10L);
+
+        PostContent content = new PostContent();
+        content.setPostId(2L);
+        content.setJourneyTitle("Ella in three days");
+
+        PlaceWiseContent place = new PlaceWiseContent(2L, "Nine Arches Bridge");
+        place.setSequenceOrder(1);
+
+        when(userProfileRepository.findActiveDisplayInfoByUserIds(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{"20", "Nimal", "https://img/nimal.png"}));
+        when(postContentRepository.findAllById(anyIterable())).thenReturn(List.of(content));
+        when(placeWiseContentRepository.findByPostIdInOrderBySequenceOrderAsc(anyCollection())).thenReturn(List.of(place));
+        when(likedPostsCache.likedAmong(eq(7L), anyCollection())).thenReturn(Set.of(1L));
+
+        List<FeedPostDTO> dtos = feedPageHydrator.hydrate(List.of(first, second), Map.of(2L, 12.5), "7");
+
+        assertThat(dtos).extracting(FeedPostDTO::getPostId).containsExactly(2L, 1L);
+
+        FeedPostDTO firstDto = dtos.get(0);
+        assertThat(firstDto.getCreatorName()).isEqualTo("Nimal");
+        assertThat(firstDto.getJourneyTitle()).isEqualTo("Ella in three days");
+        assertThat(firstDto.getPlaceWiseContent()).hasSize(1);
+        assertThat(firstDto.getIsLikedByUser()).isFalse();
+        assertThat(firstDto.getRankScore()).isEqualTo(12.5);
+
+        FeedPostDTO secondDto = dtos.get(1);
+        assertThat(secondDto.getCreatorName()).isEqualTo("Unknown User");
+        assertThat(secondDto.getJourneyTitle()).isNull();
+        assertThat(secondDto.getIsLikedByUser()).isTrue();
+        assertThat(secondDto.getRankScore()).isNull();
+    }
+
+    private static Post post(Long postId, Long creatorId) {
+        Post post = new Post();
+        post.setPostId(postId);
+        post.setCreatedById(creatorId);
+        post.setCreatedAt(LocalDateTime.now());
+        return post;
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.socialmedia_services.services.feed;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential vs ForkJoin scoring across candidate set sizes, to find where parallel scoring starts
+ * to pay off on the target hardware (app.feed.parallel-scoring.threshold).
+ * Not part of the test suite; run main() from the test classpath on a multi-core machine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeedScorerBenchmark {
+
+    @Param({"250", "500", "1000", "2000", "5000", "20000"})
+    private int candidates;
+
+    private RankingBenchmarkData data;
+    private RankingModel model;
+    private FeedScorer sequential;
+    private FeedScorer parallel;
+
+    @Setup
+    public void setUp() {
+        data = new RankingBenchmarkData(candidates, 42);
+        model = LinearRankingModel.withDefaults("linear");
+        sequential = new FeedScorer(false, 0, 256, 0);
+        // Threshold 0: every set goes to the pool
+        parallel = new FeedScorer(true, 0, 256, 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        parallel.shutdown();
+    }
+
+    @Benchmark
+    public double[] sequential() {
+        return sequential.score(data.features, data.preferences, data.followingIds, data.clock, model);
+    }
+
+    @Benchmark
+    public double[] parallel() {
+        return parallel.score(data.features, data.preferences, data.followingIds, data.clock, model);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FeedScorerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.socialmedia_services.services.feed;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.socialmedia_services.entity.post.Post;
+import org.example.socialmedia_services.repository.UserProfileRepository;
+import org.example.socialmedia_services.repository.post.PostRepository;
+import org.example.socialmedia_services.services.feed.candidate.FeedCandidateGenerator;
+import org.example.socialmedia_services.services.follow.FollowGraphCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeedServiceTest {
+
+    private static final String USER_ID = "1";
+    private static final int POSTS = 30;
+    private static final int PAGE_SIZE = 5;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private FollowGraphCache followGraphCache;
+
+    @Mock
+    private UserProfileRepository userProfileRepository;
+
+    @Mock
+    private FeedRankingService feedRankingService;
+
+    @Mock
+    private FeedScorer feedScorer;
+
+    @Mock
+    private FeedCandidateGenerator feedCandidateGenerator;
+
+    @Mock
+    private FeedPageHydrator feedPageHydrator;
+
+    @Mock
+    private RankingFeatureCache rankingFeatureCache;
+
+    @Spy
+    private FeedSnapshotStore feedSnapshotStore = new FeedSnapshotStore(100, 600);
+
+    @Mock
+    private RankedFeedCache rankedFeedCache;
+
+    @Spy
+    private FeedMetrics feedMetrics = new FeedMetrics(new SimpleMeterRegistry(), 0.0, 10);
+
+    @Mock
+    private TrendingIndex trendingIndex;
+
+    @Mock
+    private SeenPostStore seenPostStore;
+
+    @Spy
+    private DiversityReranker diversityReranker = new DiversityReranker(true, 5, 8, 1.5, 1.0);
+
+    @InjectMocks
+    private FeedService feedService;
+
+    private final List<Post> posts = new ArrayList<>();
+    private final Map<Long, PostRankingFeatures> features = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        // Post 1 scores highest; odd posts share a creator, so diversity moves even posts up
+        for (long postId = 1; postId <= POSTS; postId++) {
+            Post post = new Post();
+            post.setPostId(postId);
+            post.setCreatedById(postId % 2 == 1 ? 100L : 100L + postId);
+            posts.add(post);
+            features.put(postId, new PostRankingFeatures(postId, post.getCreatedById(), 0L, true,
+                    new long[0], new long[0], 0, 0, 0));
+        }
+        // A snapshot depth that is not a multiple of the page size, so it ends mid-block
+        ReflectionTestUtils.setField(feedService, "snapshotDepth", 12);
+
+        when(followGraphCache.getFollowingIds(USER_ID)).thenReturn(new long[0]);
+        when(feedCandidateGenerator.generate(any())).thenAnswer(invocation -> new ArrayList<>(posts));
+        when(rankingFeatureCache.getFeatures(anyList())).thenReturn(features);
+        RankingModel model = mock(RankingModel.class);
+        when(model.name()).thenReturn("test");
+        when(feedRankingService.selectModel(eq(USER_ID), anyBoolean())).thenReturn(model);
+        when(feedScorer.score(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            PostRankingFeatures[] candidates = invocation.getArgument(0);
+            double[] scores = new double[candidates.length];
+            for (int i = 0; i < candidates.length; i++) {
+                scores[i] = 100.0 - candidates[i].getPostId();
+            }
+            return scores;
+        });
+        lenient().when(postRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Post> found = new ArrayList<>();
+            for (Long postId : invocation.<Iterable<Long>>getArgument(0)) {
+                found.add(posts.get(postId.intValue() - 1));
+            }
+            return found;
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void pagingThroughADiversifiedFeedServesEveryPostOnce(boolean snapshotsExpire) {
+        if (snapshotsExpire) {
+            doReturn(Optional.empty()).when(feedSnapshotStore).find(any(), any());
+        }
+
+        List<Long> served = new ArrayList<>();
+        List<Long> firstPage = null;
+        String cursor = null;
+        do {
+            FeedPage page = feedService.planFeedPage(USER_ID, 0, PAGE_SIZE, cursor);
+            List<Long> pagePostIds = page.getPosts().stream().map(Post::getPostId).toList();
+            if (firstPage == null) {
+                firstPage = pagePostIds;
+            }
+            served.addAll(pagePostIds);
+            cursor = page.getHeader().getNextCursor();
+        } while (cursor != null && served.size() <= POSTS);
+
+        // The re-rank did reorder the feed, pulling other creators up between the odd posts
+        assertThat(firstPage).isNotEqualTo(List.of(1L, 2L, 3L, 4L, 5L));
+        assertThat(served).hasSize(POSTS).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void warmUpIsLeftOutOfTheModelRequestCounts() {
+        assertThat(feedService.pregenerateFeed(USER_ID)).isTrue();
+        feedService.planFeedPage(USER_ID, 0, PAGE_SIZE, null);
+
+        verify(feedRankingService).selectModel(USER_ID, false);
+        verify(feedRankingService).selectModel(USER_ID, true);
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.socialmedia_services.services.feed;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.socialmedia_services.dto.feed.FeedResponse;
+import org.example.socialmedia_services.entity.post.Post;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class FeedStreamWriterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FeedMetrics feedMetrics = new FeedMetrics(meterRegistry, 1.0, 10);
+    private final FeedPageHydrator feedPageHydrator = mock(FeedPageHydrator.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void writeTimesEachHydratedChunkUnderItsOwnOperation() throws Exception {
+        List<Post> posts = new ArrayList<>();
+        for (long postId = 1; postId <= 25; postId++) {
+            Post post = new Post();
+            post.setPostId(postId);
+            posts.add(post);
+        }
+        when(feedPageHydrator.hydrate(anyList(), any(), eq("7"))).thenAnswer(invocation -> {
+            List<Post> chunk = invocation.getArgument(0);
+            return chunk.stream().map(post -> Map.of("postId", post.getPostId())).toList();
+        });
+        FeedPage feedPage = new FeedPage(posts, Collections.emptyMap(), FeedResponse.builder()
+                .currentPage(0)
+                .pageSize(25)
+                .hasMore(false)
+                .build());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new FeedStreamWriter(objectMapper, feedPageHydrator, feedMetrics, 10)
+                .write(feedPage, "7", FeedView.FULL, out);
+
+        JsonNode data = objectMapper.readTree(out.toByteArray()).get("data");
+        assertThat(data.get("posts")).hasSize(25);
+        // Three chunks of at most 10 posts
+        assertThat(meterRegistry.get("feed.stage").tag("stage", "hydrate").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("feed.request").tag("operation", "stream_write").timer().count()).isEqualTo(1);
+        assertThat(feedMetrics.recentTraces()).singleElement().satisfies(trace ->
+                assertThat(trace.toString()).contains("hydrate"));
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.socialmedia_services.services.feed;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic candidate sets for the ranking benchmarks: 60 days of posts from 50k creators,
+ * four activities and one trip mood each, and a viewer following 300 of the creators.
+ */
+final class RankingBenchmarkData {
+
+    static final int CREATORS = 50_000;
+
+    final PostRankingFeatures[] features;
+    final FeedRankingService.UserPreferences preferences;
+    final long[] followingIds;
+    final RankingClock clock;
+
+    RankingBenchmarkData(int candidates, long seed) {
+        Random random = new Random(seed);
+        PreferenceVocabulary vocabulary = new PreferenceVocabulary(4096);
+        clock = RankingClock.systemNow();
+
+        features = new PostRankingFeatures[candidates];
+        for (int i = 0; i < candidates; i++) {
+            List<String> activities = new ArrayList<>();
+            for (int j = 0; j < 4; j++) {
+                activities.add("activity-" + random.nextInt(200));
+            }
+            features[i] = new PostRankingFeatures((long) i, (long) random.nextInt(CREATORS),
+                    clock.getNowEpochSeconds() - random.nextInt(60 * 86_400), true,
+                    vocabulary.activities().encode(activities),
+                    vocabulary.moods().encode(List.of("mood-" + random.nextInt(12))),
+                    random.nextInt(1000), random.nextInt(500), random.nextInt(50));
+        }
+
+        followingIds = new long[300];
+        for (int i = 0; i < followingIds.length; i++) {
+            followingIds[i] = random.nextInt(CREATORS);
+        }
+        Arrays.sort(followingIds);
+
+        preferences = new FeedRankingService.UserPreferences(
+                vocabulary.activities().encode(List.of("activity-1", "activity-2", "activity-3", "activity-4", "activity-5")), 5,
+                vocabulary.moods().encode(List.of("mood-1", "mood-2")), 2);
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.socialmedia_services.services.feed;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full post scoring with the per-request clock and hourly decay table, against the previous
+ * recency path (LocalDateTime.now(), ChronoUnit.HOURS.between and Math.exp for every post).
+ * The "before" variant scores the other factors with a zero recency weight and adds the old
+ * recency term, so both variants do the same work apart from recency.
+ * Not part of the test suite; run main() from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecencyScoringBenchmark {
+
+    @Param({"2000"})
+    private int candidates;
+
+    private RankingBenchmarkData data;
+    private LocalDateTime[] createdAt;
+    private RankingModel model;
+    private RankingModel modelWithoutRecency;
+
+    @Setup
+    public void setUp() {
+        data = new RankingBenchmarkData(candidates, 42);
+        createdAt = new LocalDateTime[candidates];
+        for (int i = 0; i < candidates; i++) {
+            createdAt[i] = LocalDateTime.ofInstant(
+                    Instant.ofEpochSecond(data.features[i].getCreatedAtEpochSeconds()), ZoneId.systemDefault());
+        }
+        model = LinearRankingModel.withDefaults("linear");
+        modelWithoutRecency = LinearRankingModel.fromConfig("no-recency",
+                key -> "recency-weight".equals(key) ? "0" : null);
+    }
+
+    @Benchmark
+    public double recencyTable() {
+        RankingClock clock = RankingClock.systemNow();
+        double sum = 0.0;
+        for (PostRankingFeatures post : data.features) {
+            sum += model.score(post, data.preferences, data.followingIds, clock);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double perPostClock() {
+        RankingClock clock = RankingClock.systemNow();
+        double sum = 0.0;
+        for (int i = 0; i < candidates; i++) {
+            sum += modelWithoutRecency.score(data.features[i], data.preferences, data.followingIds, clock)
+                    + legacyRecencyScore(createdAt[i]);
+        }
+        return sum;
+    }
+
+    private static double legacyRecencyScore(LocalDateTime postCreatedAt) {
+        LocalDateTime now = LocalDateTime.now();
+        long hoursSincePost = ChronoUnit.HOURS.between(postCreatedAt, now);
+        double daysSincePost = hoursSincePost / 24.0;
+        double recencyScore = Math.exp(-daysSincePost / LinearRankingModel.DEFAULT_RECENCY_DECAY_DAYS) * 10.0;
+        return LinearRankingModel.DEFAULT_RECENCY_WEIGHT * recencyScore;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RecencyScoringBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.socialmedia_services.services.feed;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeenPostFilterTest {
+
+    @Test
+    void addedPostsAreAlwaysReported() {
+        SeenPostFilter filter = SeenPostFilter.create(1000, 0.01);
+        int added = 0;
+        for (long postId = 1; postId <= 1000; postId++) {
+            if (filter.add(postId)) {
+                added++;
+            }
+        }
+        // add() reports false for a false positive; those are still reported as seen below
+        assertThat(added).isGreaterThan(980);
+        for (long postId = 1; postId <= 1000; postId++) {
+            assertThat(filter.mightContain(postId)).isTrue();
+        }
+        assertThat(filter.add(500L)).isFalse();
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredRate() {
+        SeenPostFilter filter = SeenPostFilter.create(10_000, 0.01);
+        for (long postId = 1; postId <= 10_000; postId++) {
+            filter.add(postId);
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (long postId = 1_000_000; postId < 1_000_000 + probes; postId++) {
+            if (filter.mightContain(postId)) {
+                falsePositives++;
+            }
+        }
+        // Both generations are checked, so allow up to twice the per-generation rate
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+
+    @Test
+    void sizingFollowsBloomFormula() {
+        SeenPostFilter filter = SeenPostFilter.create(1000, 0.01);
+        // m = -n ln p / (ln 2)^2 = 9586 bits, rounded up to 150 words; two generations plus a 17-byte header
+        assertThat(filter.toBytes()).hasSize(17 + 2 * 150 * 8);
+        assertThat(filter.getCapacity()).isEqualTo(1000);
+    }
+
+    @Test
+    void oldestGenerationIsDroppedAfterTwoRotations() {
+        SeenPostFilter filter = SeenPostFilter.create(100, 0.001);
+        for (long postId = 1; postId <= 100; postId++) {
+            filter.add(postId);
+        }
+        // Second generation: the first is still checked
+        for (long postId = 101; postId <= 200; postId++) {
+            filter.add(postId);
+        }
+        assertThat(countPresent(filter, 1, 100)).isEqualTo(100);
+
+        // Third generation: the first one is dropped
+        filter.add(201L);
+        assertThat(countPresent(filter, 101, 200)).isEqualTo(100);
+        assertThat(filter.mightContain(201L)).isTrue();
+        assertThat(countPresent(filter, 1, 100)).isLessThan(5);
+    }
+
+    @Test
+    void toBytesRoundTripKeepsContentsAndRotationState() {
+        SeenPostFilter filter = SeenPostFilter.create(100, 0.01);
+        for (long postId = 1; postId <= 150; postId++) {
+            filter.add(postId);
+        }
+
+        byte[] bytes = filter.toBytes();
+        SeenPostFilter restored = SeenPostFilter.fromBytes(bytes);
+
+        assertThat(restored.toBytes()).isEqualTo(bytes);
+        assertThat(restored.getCapacity()).isEqualTo(100);
+        assertThat(countPresent(restored, 1, 150)).isEqualTo(150);
+
+        // Same number of adds before the next rotation as the original
+        for (long postId = 151; postId <= 200; postId++) {
+            filter.add(postId);
+            restored.add(postId);
+        }
+        filter.add(201L);
+        restored.add(201L);
+        assertThat(restored.toBytes()).isEqualTo(filter.toBytes());
+    }
+
+    @Test
+    void fromBytesRejectsUnknownOrCorruptInput() {
+        byte[] valid = SeenPostFilter.create(100, 0.01).toBytes();
+
+        byte[] wrongVersion = valid.clone();
+        wrongVersion[0] = 9;
+        byte[] truncated = Arrays.copyOf(valid, valid.length - 8);
+
+        assertThatThrownBy(() -> SeenPostFilter.fromBytes(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SeenPostFilter.fromBytes(new byte[3])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SeenPostFilter.fromBytes(wrongVersion)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SeenPostFilter.fromBytes(truncated)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void createRejectsInvalidSizing() {
+        assertThatThrownBy(() -> SeenPostFilter.create(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SeenPostFilter.create(100, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SeenPostFilter.create(100, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static int countPresent(SeenPostFilter filter, long from, long to) {
+        int present = 0;
+        for (long postId = from; postId <= to; postId++) {
+            if (filter.mightContain(postId)) {
+                present++;
+            }
+        }
+        return present;
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.socialmedia_services.services.feed;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-K page selection against the full descending sort it replaced.
+ * Not part of the test suite; run main() from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TopKSelectorBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int candidates;
+
+    // Snapshot depth: the most a ranked request keeps
+    @Param({"200"})
+    private int k;
+
+    private double[] scores;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        scores = new double[candidates];
+        for (int i = 0; i < candidates; i++) {
+            scores[i] = random.nextDouble() * 100.0;
+        }
+    }
+
+    @Benchmark
+    public int[] topK() {
+        return TopKSelector.topK(scores, candidates, k);
+    }
+
+    @Benchmark
+    public Integer[] fullSort() {
+        Integer[] order = new Integer[candidates];
+        for (int i = 0; i < candidates; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+        return order;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TopKSelectorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.socialmedia_services.services.feed;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrendingIndexTest {
+
+    private static final int WINDOW = 60;
+
+    @Test
+    void refreshRanksPostsByWeightedEngagementInWindow() {
+        TrendingIndex index = new TrendingIndex(WINDOW, 10, 10);
+        index.record(1L, 3, 100);
+        index.record(2L, 2, 100);
+        index.record(2L, 2, 101);
+        index.record(3L, 1, 101);
+
+        TrendingIndex.Ranking ranking = index.refresh(101);
+
+        assertThat(ranking.size()).isEqualTo(3);
+        assertThat(ranking.getPostId(0)).isEqualTo(2L);
+        assertThat(ranking.getScore(0)).isEqualTo(4);
+        assertThat(ranking.getPostId(1)).isEqualTo(1L);
+        assertThat(ranking.getPostId(2)).isEqualTo(3L);
+        assertThat(index.getRanking()).isSameAs(ranking);
+    }
+
+    @Test
+    void bucketsSlideOutOfTheWindowOneMinuteAtATime() {
+        TrendingIndex index = new TrendingIndex(WINDOW, 10, 10);
+        index.record(1L, 5, 100);
+        index.record(1L, 3, 130);
+
+        assertThat(index.refresh(159).getScore(0)).isEqualTo(8);
+        // Minute 100 leaves the window at 160, minute 130 stays until 190
+        assertThat(index.refresh(160).getScore(0)).isEqualTo(3);
+        assertThat(index.refresh(189).getScore(0)).isEqualTo(3);
+
+        assertThat(index.refresh(190).size()).isZero();
+        assertThat(index.trackedPosts()).isZero();
+    }
+
+    @Test
+    void jumpPastTheWholeWindowClearsEveryBucket() {
+        TrendingIndex index = new TrendingIndex(WINDOW, 10, 10);
+        index.record(1L, 5, 100);
+        index.record(1L, 2, 100 + 5 * WINDOW + 7);
+
+        TrendingIndex.Ranking ranking = index.refresh(100 + 5 * WINDOW + 7);
+
+        assertThat(ranking.getScore(0)).isEqualTo(2);
+    }
+
+    @Test
+    void bucketReusedAfterWrapAroundStartsFromZero() {
+        TrendingIndex index = new TrendingIndex(WINDOW, 10, 10);
+        index.record(1L, 5, 100);
+        index.record(1L, 1, 120);
+        // Same ring position as minute 100, one window later
+        index.record(1L, 2, 100 + WINDOW);
+
+        assertThat(index.refresh(100 + WINDOW).getScore(0)).isEqualTo(3);
+    }
+
+    @Test
+    void slotsAreReleasedAndReusedWhenFull() {
+        TrendingIndex index = new TrendingIndex(WINDOW, 1, 10);
+        index.record(1L, 1, 100);
+        index.record(2L, 1, 100);
+
+        assertThat(index.droppedEvents()).isEqualTo(1);
+        assertThat(index.trackedPosts()).isEqualTo(1);
+
+        index.refresh(100 + WINDOW);
+        index.record(2L, 4, 100 + WINDOW);
+
+        TrendingIndex.Ranking ranking = index.refresh(100 + WINDOW);
+        assertThat(ranking.size()).isEqualTo(1);
+        assertThat(ranking.getPostId(0)).isEqualTo(2L);
+        assertThat(ranking.getScore(0)).isEqualTo(4);
+    }
+
+    @Test
+    void removalsOnlyAffectTrackedPosts() {
+        TrendingIndex index = new TrendingIndex(WINDOW, 10, 10);
+        index.record(1L, -1, 100);
+        assertThat(index.trackedPosts()).isZero();
+
+        index.record(2L, 3, 100);
+        index.record(2L, -1, 100);
+        assertThat(index.refresh(100).getScore(0)).isEqualTo(2);
+
+        index.remove(2L);
+        assertThat(index.refresh(100).size()).isZero();
+    }
+
+    @Test
+    void refreshKeepsOnlyTopSize() {
+        TrendingIndex index = new TrendingIndex(WINDOW, 10, 2);
+        for (long postId = 1; postId <= 5; postId++) {
+            index.record(postId, (int) postId, 100);
+        }
+
+        TrendingIndex.Ranking ranking = index.refresh(100);
+
+        assertThat(ranking.size()).isEqualTo(2);
+        assertThat(ranking.getPostId(0)).isEqualTo(5L);
+        assertThat(ranking.getPostId(1)).isEqualTo(4L);
+    }
+}
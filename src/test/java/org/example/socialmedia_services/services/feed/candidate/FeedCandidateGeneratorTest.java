@@ -0,0 +1,80 @@
+package org.example.socialmedia_services.services.feed.candidate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.socialmedia_services.entity.post.Post;
+import org.example.socialmedia_services.services.feed.FeedMetrics;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FeedCandidateGeneratorTest {
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @Test
+    void failingSourceIsSkippedAndItsTransactionRolledBack() {
+        TransactionStatus status = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+
+        FeedCandidateGenerator generator = generator(
+                source("followed", List.of(post(1L), post(2L))),
+                failingSource("preference"),
+                source("recent", List.of(post(2L), post(3L))));
+
+        List<Post> candidates = generator.generate(new FeedCandidateQuery("7", null, new long[0]));
+
+        assertThat(candidates).extracting(Post::getPostId).containsExactly(1L, 2L, 3L);
+        verify(transactionManager, times(3)).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_NOT_SUPPORTED
+                        && definition.isReadOnly()));
+        verify(transactionManager, times(2)).commit(status);
+        verify(transactionManager).rollback(status);
+    }
+
+    private FeedCandidateGenerator generator(FeedCandidateSource... sources) {
+        return new FeedCandidateGenerator(List.of(sources), new SimpleMeterRegistry(),
+                new FeedMetrics(new SimpleMeterRegistry(), 0.0, 10), transactionManager, 20);
+    }
+
+    private static FeedCandidateSource source(String name, List<Post> posts) {
+        return new FeedCandidateSource() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public List<Post> fetch(FeedCandidateQuery query) {
+                return posts;
+            }
+        };
+    }
+
+    private static FeedCandidateSource failingSource(String name) {
+        return new FeedCandidateSource() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public List<Post> fetch(FeedCandidateQuery query) {
+                throw new IllegalStateException("relation \"post_preferences\" does not exist");
+            }
+        };
+    }
+
+    private static Post post(Long postId) {
+        Post post = new Post();
+        post.setPostId(postId);
+        return post;
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.socialmedia_services.services.feed.candidate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.example.socialmedia_services.entity.post.Post;
+import org.example.socialmedia_services.repository.post.PostRepository;
+import org.example.socialmedia_services.services.feed.FeedMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A source whose SQL fails must not abort the read-only transaction the feed request runs in
+ * (Postgres rejects every later statement in an aborted transaction).
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class FeedCandidateGeneratorTransactionTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        postRepository.deleteAll();
+    }
+
+    @Test
+    void failingSourceDoesNotAbortTheRequestTransaction() {
+        Post post = new Post();
+        post.setCreatedById(7L);
+        Long postId = postRepository.save(post).getPostId();
+
+        FeedCandidateGenerator generator = new FeedCandidateGenerator(List.of(
+                source("broken", query -> entityManager.createNativeQuery("SELECT * FROM no_such_table").getResultList()),
+                source("all", query -> postRepository.findAll())),
+                new SimpleMeterRegistry(), new FeedMetrics(new SimpleMeterRegistry(), 0.0, 10), transactionManager, 20);
+
+        TransactionTemplate request = new TransactionTemplate(transactionManager);
+        request.setReadOnly(true);
+        Long postsAfterGenerate = request.execute(status -> {
+            List<Post> candidates = generator.generate(new FeedCandidateQuery("7", null, new long[0]));
+            assertThat(candidates).extracting(Post::getPostId).containsExactly(postId);
+            // The request's own transaction still accepts statements
+            return postRepository.count();
+        });
+
+        assertThat(postsAfterGenerate).isEqualTo(1L);
+    }
+
+    private static FeedCandidateSource source(String name, Function<FeedCandidateQuery, List<?>> fetch) {
+        return new FeedCandidateSource() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public List<Post> fetch(FeedCandidateQuery query) {
+                return (List<Post>) fetch.apply(query);
+            }
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.socialmedia_services.services.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.example.socialmedia_services.entity.outbox.OutboxEvent;
+import org.example.socialmedia_services.repository.outbox.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the relay against an embedded broker with a mocked outbox table.
+ * The broker is shared by all tests, so each test publishes to its own topics.
+ */
+@EmbeddedKafka(partitions = 1, topics = {"publish-like-events", "publish-follow-events", "failure-like-events"})
+class OutboxRelayTest {
+
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+
+    private DefaultKafkaProducerFactory<String, String> producerFactory;
+
+    @AfterEach
+    void closeProducer() {
+        if (producerFactory != null) {
+            producerFactory.destroy();
+        }
+    }
+
+    @Test
+    void relayBatchPublishesEventsAndDeletesThem(EmbeddedKafkaBroker broker) {
+        when(outboxEventRepository.claimNextBatch(anyInt(), anyInt(), anyLong())).thenReturn(List.of(
+                event(2L, "publish-follow-events", "{\"followId\":5}"),
+                event(1L, "publish-like-events", "{\"postId\":\"10\"}")));
+
+        int published = relay(broker, 10000).relayBatch();
+
+        assertThat(published).isEqualTo(2);
+        verify(outboxEventRepository).deleteByEventIds("{1,2}");
+        verify(outboxEventRepository, never()).recordFailedAttempt(anyString());
+
+        try (Consumer<String, String> consumer = consumer(broker)) {
+            broker.consumeFromEmbeddedTopics(consumer, "publish-like-events", "publish-follow-events");
+            ConsumerRecords<String, String> records = KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(10), 2);
+            List<String> values = new ArrayList<>();
+            for (ConsumerRecord<String, String> record : records) {
+                values.add(record.topic() + " " + record.value());
+            }
+            assertThat(values).containsExactlyInAnyOrder(
+                    "publish-like-events {\"postId\":\"10\"}",
+                    "publish-follow-events {\"followId\":5}");
+        }
+    }
+
+    @Test
+    void relayBatchKeepsEventsThatFailToPublish(EmbeddedKafkaBroker broker) {
+        when(outboxEventRepository.claimNextBatch(anyInt(), anyInt(), anyLong())).thenReturn(List.of(
+                event(1L, "failure-like-events", "{\"postId\":\"10\"}"),
+                event(2L, "not a valid topic!", "{}")));
+
+        int published = relay(broker, 5000).relayBatch();
+
+        assertThat(published).isEqualTo(1);
+        verify(outboxEventRepository).deleteByEventIds("{1}");
+        verify(outboxEventRepository).recordFailedAttempt("{2}");
+    }
+
+    @Test
+    void relayBatchDoesNothingWhenOutboxIsEmpty(EmbeddedKafkaBroker broker) {
+        when(outboxEventRepository.claimNextBatch(anyInt(), anyInt(), anyLong())).thenReturn(List.of());
+
+        assertThat(relay(broker, 10000).relayBatch()).isZero();
+        verify(outboxEventRepository).claimNextBatch(20, 500, 60);
+        verifyNoMoreInteractions(outboxEventRepository);
+    }
+
+    private OutboxRelay relay(EmbeddedKafkaBroker broker, long sendTimeoutMs) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, 10);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        props.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, 5000);
+        producerFactory = new DefaultKafkaProducerFactory<>(props);
+        return new OutboxRelay(outboxEventRepository, new KafkaTemplate<>(producerFactory),
+                new SimpleMeterRegistry(), 500, sendTimeoutMs, 20, 60);
+    }
+
+    private static Consumer<String, String> consumer(EmbeddedKafkaBroker broker) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "outbox-relay-test-" + UUID.randomUUID());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new StringDeserializer())
+                .createConsumer();
+    }
+
+    private static OutboxEvent event(Long eventId, String topic, String payload) {
+        OutboxEvent event = new OutboxEvent(topic, payload);
+        event.setEventId(eventId);
+        return event;
+    }
+}
@@ -0,0 +1,131 @@
+package org.example.socialmedia_services.services.post;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.socialmedia_services.entity.post.Post;
+import org.example.socialmedia_services.repository.post.LikeRepository;
+import org.example.socialmedia_services.repository.post.PostRepository;
+import org.example.socialmedia_services.services.kafka.KafkaProducerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires concurrent toggles for the same (post, user) against Postgres: whatever order they land in,
+ * post_likes must hold at most one row and the flushed likes_count must match it.
+ * Each toggle commits its own transaction, so the test itself runs outside one.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.likes.atomic-toggle=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({LikeService.class, LikeCounterBuffer.class, LikedPostsCache.class,
+        LikeServiceConcurrencyTest.MetricsConfig.class})
+class LikeServiceConcurrencyTest {
+
+    private static final int TAPS = 16;
+    private static final long USER_ID = 42L;
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @MockitoBean
+    private KafkaProducerService kafkaProducerService;
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private LikeCounterBuffer likeCounterBuffer;
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createUniqueConstraint() {
+        // The constraint comes from db/migration/ADD_UNIQUE_POST_LIKES.sql, not from the entity
+        jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_like_post_user ON post_likes (post_id, user_id)");
+        // The startup check ran before the index existed and fell back; check again now
+        LikeService target = AopTestUtils.getTargetObject(likeService);
+        ReflectionTestUtils.setField(target, "atomicToggle", true);
+        target.checkAtomicToggleSupported();
+        assertThat(ReflectionTestUtils.getField(target, "atomicToggle")).isEqualTo(true);
+    }
+
+    @Test
+    void concurrentTogglesStoreAndCountTheLikeAtMostOnce() throws Exception {
+        Post post = new Post();
+        post.setCreatedById(7L);
+        Long postId = postRepository.save(post).getPostId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(TAPS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> taps = new ArrayList<>();
+        try {
+            for (int i = 0; i < TAPS; i++) {
+                taps.add(executor.submit(() -> {
+                    start.await();
+                    return likeService.toggleLike(postId, USER_ID);
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> tap : taps) {
+                tap.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        likeCounterBuffer.flush();
+
+        long rows = likeRepository.countByPostId(postId);
+        assertThat(rows).isBetween(0L, 1L);
+        assertThat(likeRepository.existsByPostIdAndUserId(postId, USER_ID)).isEqualTo(rows == 1);
+        assertThat(postRepository.findById(postId))
+                .get()
+                .extracting(Post::getLikesCount)
+                .isEqualTo((int) rows);
+    }
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}